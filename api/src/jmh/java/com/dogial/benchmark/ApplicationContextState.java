@@ -0,0 +1,31 @@
+package com.dogial.benchmark;
+
+import io.micronaut.context.ApplicationContext;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Shared Micronaut context for benchmarks that need real beans. The "benchmark" environment keeps
+ * startup from touching the database, see application-benchmark.yml.
+ */
+@State(Scope.Benchmark)
+public class ApplicationContextState {
+
+    public ApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = ApplicationContext.builder()
+                .environments("benchmark")
+                .deduceEnvironment(false)
+                .start();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+}
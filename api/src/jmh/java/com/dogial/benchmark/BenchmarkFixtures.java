@@ -0,0 +1,17 @@
+package com.dogial.benchmark;
+
+import com.dogial.dog.controller.model.DogRequest;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static DogRequest dogRequest(UUID ownerId) {
+        return new DogRequest(ownerId, "Rex", "Labrador Retriever", "Male", new BigDecimal("12.50"), "3",
+                true, "Friendly with other dogs, a little shy around strangers", false);
+    }
+}
@@ -0,0 +1,121 @@
+package com.dogial.benchmark;
+
+import com.dogial.authentication.service.CachingJwtTokenValidator;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.security.authentication.Authentication;
+import io.micronaut.security.token.TokenAuthenticationFetcher;
+import io.micronaut.security.token.jwt.validator.JwtTokenValidator;
+import org.openjdk.jmh.annotations.*;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bearer-token authentication through the application's own validator chain, the same
+ * {@link TokenAuthenticationFetcher} the security filter calls, so {@link CachingJwtTokenValidator} runs ahead of
+ * Micronaut's {@link JwtTokenValidator} exactly as it does per request.
+ * <ul>
+ *     <li>{@code cacheHit}: one token, verified once and then served from the cache.</li>
+ *     <li>{@code cacheMiss}: a token not seen before on every call; more per thread than the cache holds, so
+ *     reuse after wrapping around is a miss as well.</li>
+ *     <li>{@code invalidToken}: a token signed with another secret. The caching validator verifies it on the miss
+ *     and finds nothing, so the chain moves on and the stock validator verifies it again.</li>
+ *     <li>{@code invalidTokenStockValidator}: the same token through {@link JwtTokenValidator} alone; the gap to
+ *     {@code invalidToken} is the cost of that second verification.</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class JwtValidationBenchmark {
+
+    // The default access-token secret from application.yml
+    private static final byte[] SECRET =
+            "thisIsAMockedDogialsecret01234567890ABCDEFGHIJKLMNO-PQRST".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] WRONG_SECRET =
+            "notTheDogialSecret01234567890ABCDEFGHIJKLMNOPQRSTUVWXYZ-abcd".getBytes(StandardCharsets.UTF_8);
+    // Above dogial.jwt-cache.maximum-size
+    private static final int MISS_TOKENS = 50_000;
+
+    private TokenAuthenticationFetcher fetcher;
+    private JwtTokenValidator<HttpRequest<?>> stockValidator;
+    private String cachedToken;
+    private String invalidToken;
+    private String[] missTokens;
+    private int next;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp(ApplicationContextState state) throws JOSEException {
+        fetcher = state.context.getBean(TokenAuthenticationFetcher.class);
+        stockValidator = state.context.getBean(JwtTokenValidator.class);
+
+        Date expiration = Date.from(Instant.now().plus(Duration.ofHours(1)));
+        cachedToken = sign(SECRET, expiration);
+        invalidToken = sign(WRONG_SECRET, expiration);
+        missTokens = new String[MISS_TOKENS];
+        for (int i = 0; i < MISS_TOKENS; i++) {
+            missTokens[i] = sign(SECRET, expiration);
+        }
+        if (authenticate(cachedToken) == null) {
+            throw new IllegalStateException("Benchmark token did not validate");
+        }
+    }
+
+    @Benchmark
+    public Authentication cacheHit() {
+        return authenticate(cachedToken);
+    }
+
+    @Benchmark
+    public Authentication cacheMiss() {
+        String token = missTokens[next];
+        next = (next + 1) % MISS_TOKENS;
+        return authenticate(token);
+    }
+
+    @Benchmark
+    public Authentication invalidToken() {
+        return authenticate(invalidToken);
+    }
+
+    @Benchmark
+    public Authentication invalidTokenStockValidator() {
+        return Mono.from(stockValidator.validateToken(invalidToken, request(invalidToken))).block();
+    }
+
+    private Authentication authenticate(String token) {
+        return Mono.from(fetcher.fetchAuthentication(request(token))).block();
+    }
+
+    // A new request per call, as the filter sees one per HTTP request
+    private static HttpRequest<?> request(String token) {
+        return HttpRequest.GET("/v1/dogs").bearerAuth(token);
+    }
+
+    // A unique jti keeps every token, and so every cache key, distinct
+    private static String sign(byte[] secret, Date expiration) throws JOSEException {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("benchmark@dogial.com")
+                .claim("roles", List.of("ROLE_USER"))
+                .jwtID(UUID.randomUUID().toString())
+                .expirationTime(expiration)
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        jwt.sign(new MACSigner(secret));
+        return jwt.serialize();
+    }
+}
@@ -0,0 +1,67 @@
+package com.dogial.benchmark;
+
+import com.dogial.dog.controller.model.DogRequest;
+import com.dogial.dog.controller.model.DogResponse;
+import com.dogial.dog.mapper.DogMapper;
+import com.dogial.dog.persistence.entities.DogEntity;
+import com.dogial.user.controller.model.UserRequest;
+import com.dogial.user.controller.model.UserResponse;
+import com.dogial.user.mapper.UserMapper;
+import com.dogial.user.persistence.entities.UserEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+
+    private DogRequest dogRequest;
+    private DogEntity dogEntity;
+    private UserRequest userRequest;
+    private UserEntity userEntity;
+
+    @Setup
+    public void setUp() {
+        UUID ownerId = UUID.randomUUID();
+        dogRequest = BenchmarkFixtures.dogRequest(ownerId);
+
+        userEntity = UserEntity.builder()
+                .id(ownerId)
+                .email("benchmark@dogial.com")
+                .passwordHash("$pbkdf2-sha256$310000$c2FsdA$aGFzaA")
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build();
+        userRequest = new UserRequest("benchmark@dogial.com", "password");
+
+        dogEntity = DogMapper.INSTANCE.toEntity(dogRequest);
+        dogEntity.setId(UUID.randomUUID());
+        dogEntity.setOwner(userEntity);
+        dogEntity.setWeight(new BigDecimal("12.50"));
+    }
+
+    @Benchmark
+    public DogEntity dogToEntity() {
+        return DogMapper.INSTANCE.toEntity(dogRequest);
+    }
+
+    @Benchmark
+    public DogResponse dogToResponse() {
+        return DogMapper.INSTANCE.toResponse(dogEntity);
+    }
+
+    @Benchmark
+    public UserEntity userToEntity() {
+        return UserMapper.INSTANCE.toEntity(userRequest);
+    }
+
+    @Benchmark
+    public UserResponse userToResponse() {
+        return UserMapper.INSTANCE.toResponse(userEntity);
+    }
+}
@@ -0,0 +1,73 @@
+package com.dogial.benchmark;
+
+import com.dogial.authentication.service.PasswordEncoder;
+import com.dogial.authentication.service.PasswordHashingConfiguration;
+import com.dogial.authentication.service.PasswordHashingEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded, so the reported throughput is hashes per second per core at each cost setting.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"10000", "100000", "310000", "600000"})
+    public int iterations;
+
+    private PasswordHashingEngine engine;
+    private PasswordEncoder encoder;
+    private String encoded;
+    private String legacyEncoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        PasswordHashingConfiguration configuration = new PasswordHashingConfiguration();
+        configuration.setIterations(iterations);
+        engine = new PasswordHashingEngine(configuration);
+        encoder = new PasswordEncoder(engine);
+        encoded = engine.hash(PASSWORD);
+        legacyEncoded = Base64.getEncoder().encodeToString(
+                MessageDigest.getInstance("SHA-256").digest(PASSWORD.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public String hash() {
+        return engine.hash(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return engine.verify(PASSWORD, encoded);
+    }
+
+    @Benchmark
+    public boolean verifyLegacy() {
+        return engine.verify(PASSWORD, legacyEncoded);
+    }
+
+    // Same work as hash/verify plus the hand-off to the hashing pool that request threads pay.
+    @Benchmark
+    public String encode() {
+        return encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(PASSWORD, encoded);
+    }
+}
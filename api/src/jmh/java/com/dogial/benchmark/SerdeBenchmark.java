@@ -0,0 +1,40 @@
+package com.dogial.benchmark;
+
+import com.dogial.dog.controller.model.DogRequest;
+import com.dogial.dog.controller.model.DogResponse;
+import io.micronaut.serde.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SerdeBenchmark {
+
+    private ObjectMapper objectMapper;
+    private DogResponse dogResponse;
+    private byte[] dogRequestJson;
+
+    @Setup
+    public void setUp(ApplicationContextState state) throws IOException {
+        objectMapper = state.context.getBean(ObjectMapper.class);
+        DogRequest request = BenchmarkFixtures.dogRequest(UUID.randomUUID());
+        dogRequestJson = objectMapper.writeValueAsBytes(request);
+        dogResponse = new DogResponse(UUID.randomUUID(), request.ownerId(), request.name(), request.breed(),
+                request.gender(), request.weight(), request.age(), request.isNeutered(), request.behavior(),
+                request.pedigree(), 0L);
+    }
+
+    @Benchmark
+    public DogRequest decodeDogRequest() throws IOException {
+        return objectMapper.readValue(dogRequestJson, DogRequest.class);
+    }
+
+    @Benchmark
+    public byte[] encodeDogResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(dogResponse);
+    }
+}
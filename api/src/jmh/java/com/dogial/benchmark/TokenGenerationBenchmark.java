@@ -0,0 +1,29 @@
+package com.dogial.benchmark;
+
+import com.dogial.authentication.controller.model.AuthenticationRequest;
+import com.dogial.authentication.controller.model.AuthenticationResponse;
+import com.dogial.authentication.service.AuthenticationService;
+import io.micronaut.http.HttpResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TokenGenerationBenchmark {
+
+    private AuthenticationService authenticationService;
+    private AuthenticationRequest request;
+
+    @Setup
+    public void setUp(ApplicationContextState state) {
+        authenticationService = state.context.getBean(AuthenticationService.class);
+        request = new AuthenticationRequest("benchmark@dogial.com", "password");
+    }
+
+    @Benchmark
+    public HttpResponse<AuthenticationResponse> authenticate() {
+        return authenticationService.authenticate(request);
+    }
+}
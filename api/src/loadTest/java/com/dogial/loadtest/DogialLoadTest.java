@@ -0,0 +1,268 @@
+package com.dogial.loadtest;
+
+import com.dogial.authentication.service.PasswordEncoder;
+import com.dogial.boot.IntegrationTestBase;
+import com.dogial.dog.controller.model.DogRequest;
+import com.dogial.dog.controller.model.DogResponse;
+import com.dogial.dog.persistence.dao.DogDao;
+import com.dogial.dog.persistence.entities.DogEntity;
+import com.dogial.loadtest.LoadTestSettings.Operation;
+import com.dogial.user.persistence.dao.UserDao;
+import com.dogial.user.persistence.entities.UserEntity;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.client.BlockingHttpClient;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.security.authentication.UsernamePasswordCredentials;
+import io.micronaut.security.token.render.BearerAccessRefreshToken;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Boots the full application against the Testcontainers Postgres from {@link IntegrationTestBase}, seeds users
+ * and dogs, then drives a weighted mix of login/create/get/update/delete traffic over HTTP. Latencies are
+ * recorded per operation and the run fails when a percentile or the error rate exceeds its threshold.
+ * Logins go through {@code POST /login}, so they pay for the credential lookup and the PBKDF2 verification at
+ * the production iteration count unless {@code -Dloadtest.hash-iterations} says otherwise.
+ * <p>
+ * Run with {@code ./gradlew loadTest}. Compare executor modes or pool sizes by re-running with
+ * {@code -Dloadtest.executor-mode=io} or {@code -Dloadtest.db-pool-size=10}.
+ */
+@MicronautTest(transactional = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DogialLoadTest extends IntegrationTestBase {
+
+    private static final LoadTestSettings SETTINGS = LoadTestSettings.fromSystemProperties();
+    private static final String PASSWORD = "load-test-password";
+    private static final int SEED_CHUNK_SIZE = 500;
+    private static final Map<String, Double> PERCENTILES = Map.of("p50", 50.0, "p99", 99.0, "p999", 99.9);
+
+    @Inject
+    @Client("/")
+    private HttpClient client;
+
+    @Inject
+    private UserDao userDao;
+
+    @Inject
+    private DogDao dogDao;
+
+    @Inject
+    private PasswordEncoder passwordEncoder;
+
+    private final List<UserEntity> users = new ArrayList<>();
+    private final List<SeededDog> seededDogs = new ArrayList<>();
+    private final ConcurrentLinkedQueue<UUID> createdDogIds = new ConcurrentLinkedQueue<>();
+    private Operation[] weightedOperations;
+    private String authorization;
+
+    @Override
+    public Map<String, String> getProperties() {
+        Map<String, String> properties = super.getProperties();
+        properties.put("dogial.executor.mode", SETTINGS.executorMode());
+        properties.put("datasources.default.maximum-pool-size", SETTINGS.dbPoolSize());
+        properties.put("datasources.default.minimum-idle", SETTINGS.dbPoolSize());
+        properties.put("dogial.password-hashing.iterations", SETTINGS.hashIterations());
+        properties.put("jpa.default.properties.hibernate.show_sql", "false");
+        properties.put("micronaut.http.client.read-timeout", "30s");
+        return properties;
+    }
+
+    @BeforeAll
+    void seed() {
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        for (int i = 0; i < SETTINGS.users(); i++) {
+            users.add(userDao.save(UserEntity.builder()
+                    .email("loadtest-" + i + "@dogial.com")
+                    .passwordHash(passwordHash)
+                    .build()));
+        }
+
+        List<DogEntity> chunk = new ArrayList<>(SEED_CHUNK_SIZE);
+        for (int i = 0; i < SETTINGS.dogs(); i++) {
+            UserEntity owner = users.get(i % users.size());
+            chunk.add(DogEntity.builder()
+                    .owner(owner)
+                    .name("Seed " + i)
+                    .breed("Labrador")
+                    .gender("Male")
+                    .weight(new BigDecimal("25.0"))
+                    .build());
+            if (chunk.size() == SEED_CHUNK_SIZE || i == SETTINGS.dogs() - 1) {
+                for (DogEntity dog : dogDao.saveAll(chunk)) {
+                    seededDogs.add(new SeededDog(dog.getId(), dog.getOwner().getId()));
+                }
+                chunk = new ArrayList<>(SEED_CHUNK_SIZE);
+            }
+        }
+
+        List<Operation> weighted = new ArrayList<>();
+        SETTINGS.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+        weightedOperations = weighted.toArray(Operation[]::new);
+        authorization = bearerAuth(TEST_EMAIL, List.of("ROLE_USER"));
+    }
+
+    @Test
+    void mixedTrafficStaysWithinThresholds() throws IOException {
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats());
+        }
+
+        run(SETTINGS.warmup(), stats);
+        stats.values().forEach(EndpointStats::reset);
+        run(SETTINGS.duration(), stats);
+
+        System.out.println(summary(stats));
+        writeReport(stats);
+
+        List<String> breaches = new ArrayList<>();
+        stats.forEach((operation, endpoint) -> {
+            if (endpoint.count() == 0) {
+                return;
+            }
+            PERCENTILES.forEach((key, percentile) -> {
+                Double threshold = SETTINGS.threshold(operation, key);
+                double actual = endpoint.percentileMillis(percentile);
+                if (threshold != null && actual > threshold) {
+                    breaches.add(String.format(Locale.ROOT, "%s %s %.2f ms > %.2f ms",
+                            operation.key(), key, actual, threshold));
+                }
+            });
+            if (endpoint.errorRate() > SETTINGS.maxErrorRate()) {
+                breaches.add(String.format(Locale.ROOT, "%s error rate %.4f > %.4f",
+                        operation.key(), endpoint.errorRate(), SETTINGS.maxErrorRate()));
+            }
+        });
+        assertTrue(breaches.isEmpty(), "Load-test thresholds exceeded:\n" + String.join("\n", breaches));
+    }
+
+    private void run(Duration duration, Map<Operation, EndpointStats> stats) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        BlockingHttpClient blockingClient = client.toBlocking();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < SETTINGS.concurrency(); i++) {
+                workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        Operation operation = weightedOperations[ThreadLocalRandom.current().nextInt(weightedOperations.length)];
+                        long start = System.nanoTime();
+                        Boolean success = execute(blockingClient, operation);
+                        if (success != null) {
+                            stats.get(operation).record(System.nanoTime() - start, success);
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    // Returns null when the operation had nothing to act on, so it is not recorded.
+    private Boolean execute(BlockingHttpClient blockingClient, Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try {
+            switch (operation) {
+                case LOGIN -> {
+                    UserEntity user = users.get(random.nextInt(users.size()));
+                    blockingClient.exchange(HttpRequest.POST("/login",
+                            new UsernamePasswordCredentials(user.getEmail(), PASSWORD)), BearerAccessRefreshToken.class);
+                }
+                case CREATE -> {
+                    UserEntity owner = users.get(random.nextInt(users.size()));
+                    HttpResponse<DogResponse> response = blockingClient.exchange(HttpRequest.POST("/v1/dogs",
+                            dogRequest(owner.getId(), "Created")).header("Authorization", authorization), DogResponse.class);
+                    response.getBody().ifPresent(dog -> createdDogIds.add(dog.id()));
+                }
+                case GET -> {
+                    SeededDog dog = seededDogs.get(random.nextInt(seededDogs.size()));
+                    blockingClient.exchange(HttpRequest.GET("/v1/dogs/" + dog.id())
+                            .header("Authorization", authorization), DogResponse.class);
+                }
+                // A read-modify-write, as clients must send back the ETag they read
+                case UPDATE -> {
+                    SeededDog dog = seededDogs.get(random.nextInt(seededDogs.size()));
+                    HttpResponse<DogResponse> current = blockingClient.exchange(HttpRequest.GET("/v1/dogs/" + dog.id())
+                            .header("Authorization", authorization), DogResponse.class);
+                    blockingClient.exchange(HttpRequest.PUT("/v1/dogs/" + dog.id(), dogRequest(dog.ownerId(), "Updated"))
+                            .header("Authorization", authorization)
+                            .header(HttpHeaders.IF_MATCH, current.header(HttpHeaders.ETAG)), DogResponse.class);
+                }
+                case DELETE -> {
+                    UUID id = createdDogIds.poll();
+                    if (id == null) {
+                        return null;
+                    }
+                    blockingClient.exchange(HttpRequest.DELETE("/v1/dogs/" + id)
+                            .header("Authorization", authorization));
+                }
+            }
+            return true;
+        } catch (HttpClientResponseException e) {
+            return false;
+        }
+    }
+
+    private static DogRequest dogRequest(UUID ownerId, String name) {
+        return new DogRequest(ownerId, name, "Labrador", "Male", new BigDecimal("25.0"), "3", true, "Friendly", false);
+    }
+
+    private static String summary(Map<Operation, EndpointStats> stats) {
+        StringBuilder summary = new StringBuilder(String.format(Locale.ROOT,
+                "%nLoad test: %d workers, %s, executor=%s, db-pool=%s%n%-8s %10s %8s %10s %10s %10s %10s%n",
+                SETTINGS.concurrency(), SETTINGS.duration(), SETTINGS.executorMode(), SETTINGS.dbPoolSize(),
+                "op", "count", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        stats.forEach((operation, endpoint) -> summary.append(String.format(Locale.ROOT,
+                "%-8s %10d %8d %10.2f %10.2f %10.2f %10.2f%n", operation.key(), endpoint.count(), endpoint.errors(),
+                endpoint.percentileMillis(50.0), endpoint.percentileMillis(99.0), endpoint.percentileMillis(99.9),
+                endpoint.maxMillis())));
+        return summary.toString();
+    }
+
+    private static void writeReport(Map<Operation, EndpointStats> stats) throws IOException {
+        String reportDir = System.getProperty("loadtest.report-dir");
+        if (reportDir == null) {
+            return;
+        }
+        List<String> entries = new ArrayList<>();
+        stats.forEach((operation, endpoint) -> entries.add(String.format(Locale.ROOT,
+                "    \"%s\": {\"count\": %d, \"errors\": %d, \"p50\": %.3f, \"p99\": %.3f, \"p999\": %.3f, \"max\": %.3f}",
+                operation.key(), endpoint.count(), endpoint.errors(), endpoint.percentileMillis(50.0),
+                endpoint.percentileMillis(99.0), endpoint.percentileMillis(99.9), endpoint.maxMillis())));
+        String json = String.format(Locale.ROOT,
+                "{%n  \"concurrency\": %d,%n  \"duration\": \"%s\",%n  \"executorMode\": \"%s\",%n  \"dbPoolSize\": %s,%n  \"latencyMillis\": {%n%s%n  }%n}%n",
+                SETTINGS.concurrency(), SETTINGS.duration(), SETTINGS.executorMode(), SETTINGS.dbPoolSize(),
+                String.join(",\n", entries));
+        Path directory = Files.createDirectories(Path.of(reportDir));
+        Files.writeString(directory.resolve("results.json"), json);
+    }
+
+    private record SeededDog(UUID id, UUID ownerId) {
+    }
+}
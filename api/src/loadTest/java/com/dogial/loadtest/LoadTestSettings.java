@@ -0,0 +1,109 @@
+package com.dogial.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Load-test knobs, read from {@code loadtest.*} system properties so they can be passed on the Gradle
+ * command line, e.g. {@code ./gradlew loadTest -Dloadtest.concurrency=64 -Dloadtest.duration=PT2M}.
+ * Latency thresholds default to {@code loadtest-thresholds.properties} and can be overridden the same way.
+ */
+record LoadTestSettings(int users,
+                        int dogs,
+                        int concurrency,
+                        Duration warmup,
+                        Duration duration,
+                        Map<Operation, Integer> mix,
+                        Properties thresholds,
+                        double maxErrorRate,
+                        String executorMode,
+                        String dbPoolSize,
+                        String hashIterations) {
+
+    private static final String PREFIX = "loadtest.";
+    private static final String THRESHOLDS_RESOURCE = "/loadtest-thresholds.properties";
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger(PREFIX + "users", 100),
+                Integer.getInteger(PREFIX + "dogs", 2000),
+                Integer.getInteger(PREFIX + "concurrency", 32),
+                Duration.parse(System.getProperty(PREFIX + "warmup", "PT10S")),
+                Duration.parse(System.getProperty(PREFIX + "duration", "PT30S")),
+                parseMix(System.getProperty(PREFIX + "mix", "login:10,create:15,get:55,update:15,delete:5")),
+                loadThresholds(),
+                Double.parseDouble(System.getProperty(PREFIX + "max-error-rate", "0.01")),
+                System.getProperty(PREFIX + "executor-mode", "virtual"),
+                System.getProperty(PREFIX + "db-pool-size", "20"),
+                System.getProperty(PREFIX + "hash-iterations", "310000"));
+    }
+
+    /**
+     * Threshold in milliseconds for the given operation and percentile key (p50, p99, p999), or null when unset.
+     */
+    Double threshold(Operation operation, String percentile) {
+        String value = thresholds.getProperty(operation.key() + "." + percentile);
+        return value == null ? null : Double.parseDouble(value);
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + entry);
+            }
+            weights.put(Operation.fromKey(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static Properties loadThresholds() {
+        Properties thresholds = new Properties();
+        try (InputStream in = LoadTestSettings.class.getResourceAsStream(THRESHOLDS_RESOURCE)) {
+            if (in != null) {
+                thresholds.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith(PREFIX + "threshold.")) {
+                thresholds.setProperty(name.substring((PREFIX + "threshold.").length()), System.getProperty(name));
+            }
+        }
+        return thresholds;
+    }
+
+    enum Operation {
+        LOGIN("login"),
+        CREATE("create"),
+        GET("get"),
+        UPDATE("update"),
+        DELETE("delete");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+
+        String key() {
+            return key;
+        }
+
+        static Operation fromKey(String key) {
+            for (Operation operation : values()) {
+                if (operation.key.equals(key)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown load-test operation: " + key);
+        }
+    }
+}
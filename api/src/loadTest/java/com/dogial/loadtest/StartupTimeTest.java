@@ -0,0 +1,213 @@
+package com.dogial.loadtest;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the packaged application as a separate process against a Testcontainers Postgres and measures, per run,
+ * the time from process launch until {@code /health} answers and the latency of the first real request (a user
+ * sign-up, which touches Hibernate, the password encoder and serde). The first boot applies the migrations and is
+ * not counted, so the measured runs pay Flyway validation only, as a scaled-out replica would.
+ * <p>
+ * Run with {@code ./gradlew startupBenchmark -PstartupVariant=jit|aot|native}; the task builds the artifact and
+ * passes its launch command. Ceilings come from {@code startup.<variant>.*} in {@code loadtest-thresholds.properties}.
+ */
+@Tag("startup")
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StartupTimeTest {
+
+    private static final LoadTestSettings SETTINGS = LoadTestSettings.fromSystemProperties();
+    private static final Pattern STARTUP_COMPLETED = Pattern.compile("Startup completed in (\\d+)ms");
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(2);
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14-alpine")
+            .withDatabaseName("startupdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+    private final String variant = System.getProperty("loadtest.startup.variant", "aot");
+    private final int runs = Integer.getInteger("loadtest.startup.runs", 5);
+    private Path logDirectory;
+
+    @BeforeAll
+    void migrate() throws Exception {
+        String command = System.getProperty("loadtest.startup.command");
+        assertNotNull(command, "loadtest.startup.command is not set; run through ./gradlew startupBenchmark");
+        logDirectory = Files.createDirectories(Path.of(System.getProperty("loadtest.report-dir",
+                System.getProperty("java.io.tmpdir")), "startup-" + variant));
+        boot("migrate");
+    }
+
+    @Test
+    void coldStartStaysWithinThresholds() throws Exception {
+        List<StartupSample> samples = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            samples.add(boot("run-" + i));
+        }
+
+        StartupSample median = StartupSample.median(samples);
+        System.out.println(summary(samples, median));
+        writeReport(samples, median);
+
+        List<String> breaches = new ArrayList<>();
+        checkThreshold(breaches, "ready", median.readyMillis());
+        checkThreshold(breaches, "first-request", median.firstRequestMillis());
+        assertTrue(breaches.isEmpty(), "Startup thresholds exceeded:\n" + String.join("\n", breaches));
+    }
+
+    private StartupSample boot(String label) throws Exception {
+        int port = freePort();
+        Path log = logDirectory.resolve(label + ".log");
+        ProcessBuilder builder = new ProcessBuilder(Arrays.asList(System.getProperty("loadtest.startup.command").split("\\s+")))
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile());
+        Map<String, String> environment = builder.environment();
+        environment.put("MICRONAUT_SERVER_PORT", String.valueOf(port));
+        environment.put("DATASOURCES_DEFAULT_URL", postgres.getJdbcUrl());
+        environment.put("DATASOURCES_DEFAULT_USERNAME", postgres.getUsername());
+        environment.put("DATASOURCES_DEFAULT_PASSWORD", postgres.getPassword());
+        environment.put("LOG_APPENDER", "STDOUT");
+
+        long start = System.nanoTime();
+        Process process = builder.start();
+        try {
+            URI base = URI.create("http://localhost:" + port);
+            awaitHealthy(process, base.resolve("/health"));
+            long ready = System.nanoTime();
+
+            HttpResponse<String> response = http.send(HttpRequest.newBuilder(base.resolve("/v1/users"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(String.format(Locale.ROOT,
+                                    "{\"email\": \"startup-%s@dogial.com\", \"passwordHash\": \"startup-password\"}",
+                                    UUID.randomUUID())))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            long firstRequest = System.nanoTime();
+            assertEquals(201, response.statusCode(), "First request failed: " + response.body());
+
+            return new StartupSample(
+                    TimeUnit.NANOSECONDS.toMillis(ready - start),
+                    TimeUnit.NANOSECONDS.toMillis(firstRequest - ready),
+                    reportedStartupMillis(log));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private void awaitHealthy(Process process, URI health) throws Exception {
+        long deadline = System.nanoTime() + READY_TIMEOUT.toNanos();
+        HttpRequest request = HttpRequest.newBuilder(health).timeout(Duration.ofSeconds(1)).build();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                fail("Application exited with " + process.exitValue() + " before becoming healthy");
+            }
+            try {
+                if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (ConnectException e) {
+                // Not listening yet
+            }
+            Thread.sleep(10);
+        }
+        fail("Application was not healthy within " + READY_TIMEOUT);
+    }
+
+    private void checkThreshold(List<String> breaches, String metric, long actual) {
+        String value = SETTINGS.thresholds().getProperty("startup." + variant + "." + metric);
+        if (value != null && actual > Long.parseLong(value)) {
+            breaches.add(String.format(Locale.ROOT, "%s %s %d ms > %s ms", variant, metric, actual, value));
+        }
+    }
+
+    // Micronaut's own figure, which excludes JVM or image start-up; -1 when the line was not logged
+    private static long reportedStartupMillis(Path log) throws IOException {
+        Matcher matcher = STARTUP_COMPLETED.matcher(Files.readString(log));
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private String summary(List<StartupSample> samples, StartupSample median) {
+        StringBuilder summary = new StringBuilder(String.format(Locale.ROOT,
+                "%nStartup benchmark: %s, %d runs%n%-8s %10s %18s %14s%n",
+                variant, samples.size(), "run", "ready ms", "first request ms", "reported ms"));
+        for (int i = 0; i < samples.size(); i++) {
+            StartupSample sample = samples.get(i);
+            summary.append(String.format(Locale.ROOT, "%-8d %10d %18d %14d%n",
+                    i, sample.readyMillis(), sample.firstRequestMillis(), sample.reportedMillis()));
+        }
+        summary.append(String.format(Locale.ROOT, "%-8s %10d %18d %14d%n",
+                "median", median.readyMillis(), median.firstRequestMillis(), median.reportedMillis()));
+        return summary.toString();
+    }
+
+    private void writeReport(List<StartupSample> samples, StartupSample median) throws IOException {
+        List<String> entries = samples.stream()
+                .map(StartupSample::toJson)
+                .map(json -> "    " + json)
+                .toList();
+        String json = String.format(Locale.ROOT,
+                "{%n  \"variant\": \"%s\",%n  \"median\": %s,%n  \"runs\": [%n%s%n  ]%n}%n",
+                variant, median.toJson(), String.join(",\n", entries));
+        Files.writeString(logDirectory.getParent().resolve("startup-" + variant + ".json"), json);
+    }
+
+    private record StartupSample(long readyMillis, long firstRequestMillis, long reportedMillis) {
+
+        static StartupSample median(List<StartupSample> samples) {
+            return new StartupSample(
+                    median(samples.stream().mapToLong(StartupSample::readyMillis).sorted().toArray()),
+                    median(samples.stream().mapToLong(StartupSample::firstRequestMillis).sorted().toArray()),
+                    median(samples.stream().mapToLong(StartupSample::reportedMillis).sorted().toArray()));
+        }
+
+        private static long median(long[] sorted) {
+            return sorted[sorted.length / 2];
+        }
+
+        String toJson() {
+            return String.format(Locale.ROOT, "{\"ready\": %d, \"firstRequest\": %d, \"reported\": %d}",
+                    readyMillis, firstRequestMillis, reportedMillis);
+        }
+    }
+}
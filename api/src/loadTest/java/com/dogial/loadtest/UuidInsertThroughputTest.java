@@ -0,0 +1,139 @@
+package com.dogial.loadtest;
+
+import com.dogial.utils.UuidV7;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Inserts the same number of dog-shaped rows into two identical tables against a Testcontainers Postgres, one
+ * keyed by random v4 UUIDs and one by {@link UuidV7}, and reports rows per second, primary-key index size and WAL
+ * volume for each. Random keys split leaf pages all over the index; time-ordered keys fill the rightmost leaf.
+ * <p>
+ * Run alone with {@code ./gradlew loadTest --tests '*UuidInsertThroughputTest' -Dloadtest.uuid.rows=2000000}.
+ */
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UuidInsertThroughputTest {
+
+    private static final int ROWS = Integer.getInteger("loadtest.uuid.rows", 500_000);
+    private static final int BATCH_SIZE = 1000;
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14-alpine")
+            .withDatabaseName("uuiddb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Test
+    void timeOrderedKeysInsertIntoSmallerIndex() throws Exception {
+        try (Connection connection = DriverManager.getConnection(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())) {
+            InsertResult v4 = run(connection, "dogs_uuid_v4", UUID::randomUUID);
+            InsertResult v7 = run(connection, "dogs_uuid_v7", UuidV7::next);
+
+            String summary = String.format(Locale.ROOT,
+                    "%nUUID insert benchmark: %d rows, batches of %d%n%-4s %12s %14s %12s%n%s%n%s%n",
+                    ROWS, BATCH_SIZE, "key", "rows/s", "pkey MiB", "WAL MiB", v4.format("v4"), v7.format("v7"));
+            System.out.println(summary);
+            writeReport(v4, v7);
+
+            assertTrue(v7.indexBytes() < v4.indexBytes(),
+                    "Expected the v7 primary key to be smaller than the v4 one:" + summary);
+        }
+    }
+
+    private static InsertResult run(Connection connection, String table, Supplier<UUID> ids) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE " + table + " (id UUID PRIMARY KEY, owner_id UUID NOT NULL, "
+                    + "name VARCHAR(100) NOT NULL, breed VARCHAR(100) NOT NULL, gender VARCHAR(20) NOT NULL, "
+                    + "created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP)");
+            statement.execute("CHECKPOINT");
+        }
+        connection.setAutoCommit(false);
+        String walBefore = currentWalLsn(connection);
+        UUID ownerId = UUID.randomUUID();
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (id, owner_id, name, breed, gender) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < ROWS; i++) {
+                insert.setObject(1, ids.get());
+                insert.setObject(2, ownerId);
+                insert.setString(3, "Dog " + ThreadLocalRandom.current().nextInt(1000));
+                insert.setString(4, "Labrador");
+                insert.setString(5, "Male");
+                insert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        connection.setAutoCommit(true);
+
+        try (PreparedStatement stats = connection.prepareStatement(
+                "SELECT pg_relation_size(?::regclass), pg_wal_lsn_diff(pg_current_wal_lsn(), ?::pg_lsn)")) {
+            stats.setString(1, table + "_pkey");
+            stats.setString(2, walBefore);
+            try (ResultSet resultSet = stats.executeQuery()) {
+                resultSet.next();
+                return new InsertResult(ROWS * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos,
+                        resultSet.getLong(1), resultSet.getLong(2));
+            }
+        }
+    }
+
+    private static String currentWalLsn(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT pg_current_wal_lsn()::text")) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    private static void writeReport(InsertResult v4, InsertResult v7) throws IOException {
+        String reportDir = System.getProperty("loadtest.report-dir");
+        if (reportDir == null) {
+            return;
+        }
+        String json = String.format(Locale.ROOT, "{%n  \"rows\": %d,%n  \"v4\": %s,%n  \"v7\": %s%n}%n",
+                ROWS, v4.toJson(), v7.toJson());
+        Path directory = Files.createDirectories(Path.of(reportDir));
+        Files.writeString(directory.resolve("uuid-insert.json"), json);
+    }
+
+    private record InsertResult(double rowsPerSecond, long indexBytes, long walBytes) {
+
+        String format(String key) {
+            return String.format(Locale.ROOT, "%-4s %12.0f %14.1f %12.1f",
+                    key, rowsPerSecond, indexBytes / 1048576.0, walBytes / 1048576.0);
+        }
+
+        String toJson() {
+            return String.format(Locale.ROOT, "{\"rowsPerSecond\": %.0f, \"pkeyBytes\": %d, \"walBytes\": %d}",
+                    rowsPerSecond, indexBytes, walBytes);
+        }
+    }
+}
@@ -3,7 +3,15 @@ package com.dogial;
 import io.micronaut.runtime.Micronaut;
 
 public class Application {
+
+    static final String NATIVE_ENVIRONMENT = "native";
+
     public static void main(String[] args) {
-        Micronaut.run(Application.class, args);
+        Micronaut micronaut = Micronaut.build(args).mainClass(Application.class);
+        // GraalVM sets this property inside a native executable; application-native.yml holds the overrides
+        if ("runtime".equals(System.getProperty("org.graalvm.nativeimage.imagecode"))) {
+            micronaut.environments(NATIVE_ENVIRONMENT);
+        }
+        micronaut.start();
     }
-}
\ No newline at end of file
+}
@@ -3,6 +3,7 @@ package com.dogial.authentication.controller;
 import com.dogial.authentication.controller.model.AuthenticationRequest;
 import com.dogial.authentication.controller.model.AuthenticationResponse;
 import com.dogial.authentication.service.AuthenticationService;
+import com.dogial.metrics.Measured;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Controller;
@@ -13,6 +14,7 @@ import jakarta.inject.Inject;
 
 @Secured(SecurityRule.IS_ANONYMOUS)
 @Controller("/authentication")
+@Measured("dogial.controller")
 public class AuthenticationController {
 
     private final AuthenticationService authenticationService;
@@ -0,0 +1,42 @@
+package com.dogial.authentication.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.micronaut.context.annotation.Bean;
+import io.micronaut.context.annotation.Factory;
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Factory
+public class AuthenticationExecutorFactory {
+
+    public static final String AUTHENTICATION = "authentication";
+
+    // Bounded queue with AbortPolicy, so login storms are rejected rather than queued without limit
+    @Singleton
+    @Named(AUTHENTICATION)
+    @Bean(preDestroy = "shutdown")
+    ExecutorService authenticationExecutor(@Value("${dogial.authentication.threads:8}") int threads,
+                                           @Value("${dogial.authentication.queue-capacity:512}") int queueCapacity,
+                                           MeterRegistry meterRegistry) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "authentication-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, AUTHENTICATION, Tags.empty()).bindTo(meterRegistry);
+        return executor;
+    }
+}
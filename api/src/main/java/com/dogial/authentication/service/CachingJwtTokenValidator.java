@@ -0,0 +1,51 @@
+package com.dogial.authentication.service;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.annotation.Order;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.security.authentication.Authentication;
+import io.micronaut.security.token.jwt.validator.JwtTokenValidator;
+import io.micronaut.security.token.validator.TokenValidator;
+import jakarta.inject.Singleton;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs ahead of {@link JwtTokenValidator} so repeated requests with the same bearer token skip parsing and
+ * HMAC verification. Misses delegate to the JWT validator and cache the resulting authentication.
+ * <p>
+ * The stock validator stays in the chain, since it is the delegate here. The chain stops at the first
+ * authentication, so a valid token is verified at most once; an invalid one is verified here and again by the
+ * stock validator. JwtValidationBenchmark measures that second verification ({@code invalidToken} against
+ * {@code invalidTokenStockValidator}); it only costs requests that end in 401 anyway.
+ */
+@Singleton
+@Order(CachingJwtTokenValidator.ORDER)
+public class CachingJwtTokenValidator implements TokenValidator<HttpRequest<?>> {
+
+    static final int ORDER = -100;
+
+    private final JwtTokenValidator<HttpRequest<?>> delegate;
+    private final ValidatedTokenCache validatedTokenCache;
+
+    public CachingJwtTokenValidator(JwtTokenValidator<HttpRequest<?>> delegate,
+                                    ValidatedTokenCache validatedTokenCache) {
+        this.delegate = delegate;
+        this.validatedTokenCache = validatedTokenCache;
+    }
+
+    @Override
+    public Publisher<Authentication> validateToken(String token, @Nullable HttpRequest<?> request) {
+        Authentication cached = validatedTokenCache.get(token);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return Mono.from(delegate.validateToken(token, request))
+                .doOnNext(authentication -> validatedTokenCache.put(token, authentication));
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
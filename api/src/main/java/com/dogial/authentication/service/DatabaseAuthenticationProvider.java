@@ -1,55 +1,107 @@
 package com.dogial.authentication.service;
 
 import com.dogial.user.persistence.dao.UserDao;
-import com.dogial.user.persistence.entities.UserEntity;
+import com.dogial.user.persistence.projections.UserCredentials;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.cache.SyncCache;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.security.authentication.AuthenticationProvider;
 import io.micronaut.security.authentication.AuthenticationRequest;
 import io.micronaut.security.authentication.AuthenticationResponse;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
 import org.reactivestreams.Publisher;
-import reactor.core.publisher.Flux;
-import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
-import java.util.Collections;
-import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
 @Singleton
+@Slf4j
 public class DatabaseAuthenticationProvider implements AuthenticationProvider<HttpRequest<?>> {
 
     private final UserDao userDao;
     private final PasswordEncoder passwordEncoder;
+    private final SyncCache<?> userCache;
+    private final UserRoles userRoles;
+    private final Scheduler scheduler;
+    private final Timer dbTimer;
+    private final Timer hashTimer;
+    private final Counter rejectedCounter;
 
     @Inject
-    public DatabaseAuthenticationProvider(UserDao userDao, PasswordEncoder passwordEncoder) {
+    public DatabaseAuthenticationProvider(UserDao userDao,
+                                          PasswordEncoder passwordEncoder,
+                                          @Named("users") SyncCache<?> userCache,
+                                          UserRoles userRoles,
+                                          @Named(AuthenticationExecutorFactory.AUTHENTICATION) ExecutorService executor,
+                                          MeterRegistry meterRegistry) {
         this.userDao = userDao;
         this.passwordEncoder = passwordEncoder;
+        this.userCache = userCache;
+        this.userRoles = userRoles;
+        this.scheduler = Schedulers.fromExecutorService(executor, AuthenticationExecutorFactory.AUTHENTICATION);
+        this.dbTimer = Timer.builder("dogial.auth.latency")
+                .tag("phase", "db")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.hashTimer = Timer.builder("dogial.auth.latency")
+                .tag("phase", "hash")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedCounter = meterRegistry.counter("dogial.auth.rejected");
     }
 
     @Override
     public Publisher<AuthenticationResponse> authenticate(HttpRequest<?> httpRequest,
                                                           AuthenticationRequest<?, ?> authenticationRequest) {
-        return Flux.create(emitter -> {
-            String email = (String) authenticationRequest.getIdentity();
-            String password = (String) authenticationRequest.getSecret();
-
-            Optional<UserEntity> userOptional = userDao.findByEmail(email);
-
-            if (userOptional.isPresent()) {
-                UserEntity user = userOptional.get();
-                if (passwordEncoder.matches(password, user.getPasswordHash())) {
-                    emitter.next(AuthenticationResponse.success(
-                            email,
-                            Collections.singletonList("ROLE_USER")
-                    ));
-                    emitter.complete();
-                } else {
-                    emitter.error(AuthenticationResponse.exception("Invalid credentials"));
-                }
-            } else {
-                emitter.error(AuthenticationResponse.exception("User not found"));
-            }
-        }, FluxSink.OverflowStrategy.ERROR);
+        String email = (String) authenticationRequest.getIdentity();
+        String password = (String) authenticationRequest.getSecret();
+
+        // The blocking lookup runs on the bounded authentication pool, never on the event loop
+        return Mono.fromCallable(() -> dbTimer.recordCallable(() -> userDao.findCredentialsByEmail(email)))
+                .subscribeOn(scheduler)
+                .flatMap(credentials -> credentials
+                        .map(user -> verifyPassword(user, email, password))
+                        .orElseGet(() -> Mono.error(AuthenticationResponse.exception("User not found"))))
+                // RejectedExecutionExceptionHandler answers 503 with Retry-After, like any other full pool
+                .doOnError(RejectedExecutionException.class, e -> {
+                    rejectedCounter.increment();
+                    log.warn("Authentication queue is full, rejecting login");
+                });
+    }
+
+    private Mono<AuthenticationResponse> verifyPassword(UserCredentials user, String email, String password) {
+        Timer.Sample sample = Timer.start();
+        return Mono.fromFuture(() -> passwordEncoder.matchesAsync(password, user.passwordHash()))
+                .doOnTerminate(() -> sample.stop(hashTimer))
+                .flatMap(matches -> {
+                    if (!matches) {
+                        return Mono.error(AuthenticationResponse.exception("Invalid credentials"));
+                    }
+                    // Transparently upgrade legacy SHA-256 or lower-cost hashes while the raw password is at hand
+                    if (passwordEncoder.needsRehash(user.passwordHash())) {
+                        rehash(user, password);
+                    }
+                    return Mono.just(AuthenticationResponse.success(email, userRoles.rolesFor(email)));
+                });
+    }
+
+    private void rehash(UserCredentials user, String password) {
+        Mono.fromFuture(() -> passwordEncoder.encodeAsync(password))
+                .publishOn(scheduler)
+                .doOnNext(passwordHash -> {
+                    userDao.updatePasswordHash(user.id(), passwordHash);
+                    // The cached user response carries the hash; the update has committed by now
+                    userCache.invalidate(user.id());
+                })
+                .subscribe(passwordHash -> log.info("Upgraded password hash for user {}", user.id()),
+                        e -> log.warn("Could not upgrade password hash for user {}", user.id(), e));
     }
 }
@@ -1,24 +1,49 @@
 package com.dogial.authentication.service;
 
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Singleton
 public class PasswordEncoder {
 
+    private final PasswordHashingEngine hashingEngine;
+
+    @Inject
+    public PasswordEncoder(PasswordHashingEngine hashingEngine) {
+        this.hashingEngine = hashingEngine;
+    }
+
     public String encode(String rawPassword) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] hash = md.digest(rawPassword.getBytes());
-            return Base64.getEncoder().encodeToString(hash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Error encoding password", e);
-        }
+        return await(encodeAsync(rawPassword));
     }
 
     public boolean matches(String rawPassword, String encodedPassword) {
-        return encode(rawPassword).equals(encodedPassword);
+        return await(matchesAsync(rawPassword, encodedPassword));
+    }
+
+    public CompletableFuture<String> encodeAsync(String rawPassword) {
+        return hashingEngine.submit(() -> hashingEngine.hash(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matchesAsync(String rawPassword, String encodedPassword) {
+        return hashingEngine.submit(() -> hashingEngine.verify(rawPassword, encodedPassword));
+    }
+
+    public boolean needsRehash(String encodedPassword) {
+        return hashingEngine.needsRehash(encodedPassword);
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 }
@@ -0,0 +1,54 @@
+package com.dogial.authentication.service;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+@ConfigurationProperties("dogial.password-hashing")
+public class PasswordHashingConfiguration {
+
+    // PBKDF2-HMAC-SHA256 iteration count, the cost factor of the hash
+    private int iterations = 310_000;
+    private int saltLength = 16;
+    private int keyLength = 32;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int queueCapacity = 256;
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    public int getSaltLength() {
+        return saltLength;
+    }
+
+    public void setSaltLength(int saltLength) {
+        this.saltLength = saltLength;
+    }
+
+    public int getKeyLength() {
+        return keyLength;
+    }
+
+    public void setKeyLength(int keyLength) {
+        this.keyLength = keyLength;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+}
@@ -0,0 +1,184 @@
+package com.dogial.authentication.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * PBKDF2-HMAC-SHA256 password hashing on a dedicated, bounded thread pool.
+ * Hashes are stored as {@code $pbkdf2-sha256$<iterations>$<salt>$<hash>}; values without that prefix
+ * are legacy unsalted Base64 SHA-256 digests, which still verify but report {@link #needsRehash(String)}.
+ */
+@Singleton
+@Slf4j
+public class PasswordHashingEngine implements AutoCloseable {
+
+    static final String PBKDF2_PREFIX = "$pbkdf2-sha256$";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(PasswordHashingEngine::newMac);
+    private final ThreadLocal<MessageDigest> digests = ThreadLocal.withInitial(PasswordHashingEngine::newDigest);
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final PasswordHashingConfiguration configuration;
+    private final ThreadPoolExecutor executor;
+
+    @Inject
+    public PasswordHashingEngine(PasswordHashingConfiguration configuration) {
+        this.configuration = configuration;
+        int threads = Math.max(1, configuration.getThreads());
+        // AbortPolicy: a full queue rejects new work instead of letting it pile up
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, configuration.getQueueCapacity())),
+                new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    public String hash(String rawPassword) {
+        byte[] salt = new byte[configuration.getSaltLength()];
+        secureRandom.nextBytes(salt);
+        int iterations = configuration.getIterations();
+        byte[] hash = pbkdf2(rawPassword.getBytes(StandardCharsets.UTF_8), salt, iterations, configuration.getKeyLength());
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PBKDF2_PREFIX + iterations + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
+    }
+
+    public boolean verify(String rawPassword, String encodedPassword) {
+        // No account has an empty password: sign-up rejects it, so it never matches and is not a hash problem
+        if (encodedPassword == null || rawPassword == null || rawPassword.isEmpty()) {
+            return false;
+        }
+        byte[] password = rawPassword.getBytes(StandardCharsets.UTF_8);
+        if (!encodedPassword.startsWith(PBKDF2_PREFIX)) {
+            byte[] expected = decodeOrNull(encodedPassword);
+            return expected != null && MessageDigest.isEqual(digests.get().digest(password), expected);
+        }
+        String[] parts = encodedPassword.substring(PBKDF2_PREFIX.length()).split("\\$");
+        if (parts.length != 3) {
+            return false;
+        }
+        try {
+            int iterations = Integer.parseInt(parts[0]);
+            byte[] salt = Base64.getDecoder().decode(parts[1]);
+            byte[] expected = Base64.getDecoder().decode(parts[2]);
+            return MessageDigest.isEqual(pbkdf2(password, salt, iterations, expected.length), expected);
+        } catch (IllegalArgumentException e) {
+            log.warn("Malformed password hash");
+            return false;
+        }
+    }
+
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null || !encodedPassword.startsWith(PBKDF2_PREFIX)) {
+            return true;
+        }
+        int end = encodedPassword.indexOf('$', PBKDF2_PREFIX.length());
+        try {
+            return end < 0 || Integer.parseInt(encodedPassword.substring(PBKDF2_PREFIX.length(), end))
+                    < configuration.getIterations();
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    // RFC 8018 PBKDF2, reusing this thread's Mac and the output buffers across iterations
+    private byte[] pbkdf2(byte[] password, byte[] salt, int iterations, int keyLength) {
+        if (password.length == 0) {
+            throw new IllegalArgumentException("Password must not be empty");
+        }
+        Mac mac = macs.get();
+        try {
+            mac.init(new SecretKeySpec(password, HMAC_ALGORITHM));
+            int macLength = mac.getMacLength();
+            byte[] derived = new byte[keyLength];
+            byte[] u = new byte[macLength];
+            byte[] t = new byte[macLength];
+            int blocks = (keyLength + macLength - 1) / macLength;
+            for (int block = 1; block <= blocks; block++) {
+                mac.update(salt);
+                mac.update((byte) (block >>> 24));
+                mac.update((byte) (block >>> 16));
+                mac.update((byte) (block >>> 8));
+                mac.update((byte) block);
+                mac.doFinal(u, 0);
+                System.arraycopy(u, 0, t, 0, macLength);
+                for (int i = 1; i < iterations; i++) {
+                    mac.update(u);
+                    mac.doFinal(u, 0);
+                    for (int j = 0; j < macLength; j++) {
+                        t[j] ^= u[j];
+                    }
+                }
+                int offset = (block - 1) * macLength;
+                System.arraycopy(t, 0, derived, offset, Math.min(macLength, keyLength - offset));
+            }
+            return derived;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Error hashing password", e);
+        }
+    }
+
+    private static byte[] decodeOrNull(String value) {
+        try {
+            return Base64.getDecoder().decode(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Mac newMac() {
+        try {
+            return Mac.getInstance(HMAC_ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.dogial.authentication.service;
+
+import com.dogial.user.persistence.dao.UserDao;
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Roles granted by a password login. Administrators are listed by email in {@code dogial.security.admin-emails};
+ * every other user only gets {@link #USER}.
+ */
+@Singleton
+public class UserRoles {
+
+    public static final String USER = "ROLE_USER";
+    public static final String ADMIN = "ROLE_ADMIN";
+
+    private final Set<String> adminEmails;
+
+    public UserRoles(@Value("${dogial.security.admin-emails:}") List<String> adminEmails) {
+        this.adminEmails = adminEmails.stream()
+                .map(String::trim)
+                .filter(email -> !email.isEmpty())
+                .map(UserDao::normalizeEmail)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public List<String> rolesFor(String email) {
+        return adminEmails.contains(UserDao.normalizeEmail(email)) ? List.of(USER, ADMIN) : List.of(USER);
+    }
+}
@@ -0,0 +1,106 @@
+package com.dogial.authentication.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.security.authentication.Authentication;
+import jakarta.inject.Singleton;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Bounded cache of already-verified bearer tokens, keyed by the SHA-256 of the token and expiring
+ * no later than the token's own {@code exp} claim.
+ */
+@Singleton
+public class ValidatedTokenCache {
+
+    private static final String EXPIRATION_CLAIM = "exp";
+
+    private final ThreadLocal<MessageDigest> digests = ThreadLocal.withInitial(ValidatedTokenCache::newDigest);
+    private final Cache<String, CachedAuthentication> cache;
+    private final Duration maxTtl;
+
+    public ValidatedTokenCache(@Value("${dogial.jwt-cache.maximum-size:10000}") long maximumSize,
+                               @Value("${dogial.jwt-cache.max-ttl:5m}") Duration maxTtl,
+                               MeterRegistry meterRegistry) {
+        this.maxTtl = maxTtl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt-validation");
+    }
+
+    public Authentication get(String token) {
+        CachedAuthentication cached = cache.getIfPresent(key(token));
+        return cached == null ? null : cached.authentication();
+    }
+
+    public void put(String token, Authentication authentication) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(maxTtl);
+        Instant tokenExpiresAt = expiration(authentication);
+        if (tokenExpiresAt != null && tokenExpiresAt.isBefore(expiresAt)) {
+            expiresAt = tokenExpiresAt;
+        }
+        if (expiresAt.isAfter(now)) {
+            cache.put(key(token), new CachedAuthentication(authentication, expiresAt));
+        }
+    }
+
+    private String key(String token) {
+        return Base64.getEncoder().encodeToString(digests.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static Instant expiration(Authentication authentication) {
+        Object exp = authentication.getAttributes().get(EXPIRATION_CLAIM);
+        if (exp instanceof Date date) {
+            return date.toInstant();
+        } else if (exp instanceof Instant instant) {
+            return instant;
+        } else if (exp instanceof Number seconds) {
+            return Instant.ofEpochSecond(seconds.longValue());
+        }
+        return null;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record CachedAuthentication(Authentication authentication, Instant expiresAt) {
+    }
+
+    private static final class TokenExpiry implements Expiry<String, CachedAuthentication> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedAuthentication value, long currentTime) {
+            return Math.max(0L, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedAuthentication value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedAuthentication value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
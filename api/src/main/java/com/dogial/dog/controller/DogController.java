@@ -1,22 +1,52 @@
 package com.dogial.dog.controller;
 
+import com.dogial.authentication.service.UserRoles;
+import com.dogial.dog.controller.model.DogBatchResponse;
+import com.dogial.dog.controller.model.DogBatchUpdateItem;
+import com.dogial.dog.controller.model.DogImportResponse;
+import com.dogial.dog.controller.model.DogPageResponse;
 import com.dogial.dog.controller.model.DogRequest;
 import com.dogial.dog.controller.model.DogResponse;
+import com.dogial.dog.controller.model.DogSearchResponse;
+import com.dogial.dog.persistence.dao.DogSearchCriteria;
+import com.dogial.dog.service.DogExportService;
+import com.dogial.dog.service.DogImportService;
 import com.dogial.dog.service.DogService;
+import com.dogial.executor.BlockingExecutorFactory;
+import com.dogial.executor.DatabaseBound;
+import com.dogial.metrics.Measured;
+import com.dogial.utils.NdjsonEncoder;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
 import io.micronaut.http.annotation.*;
+import io.micronaut.http.exceptions.HttpStatusException;
+import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.security.annotation.Secured;
+import io.micronaut.security.authentication.Authentication;
 import io.micronaut.security.rules.SecurityRule;
+import org.reactivestreams.Publisher;
 
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
 
+@DatabaseBound
+@ExecuteOn(BlockingExecutorFactory.BLOCKING)
 @Controller("/v1/dogs")
+@Measured("dogial.controller")
 public class DogController {
 
     private final DogService dogService;
+    private final DogExportService dogExportService;
+    private final DogImportService dogImportService;
 
-    public DogController(DogService dogService) {
+    public DogController(DogService dogService, DogExportService dogExportService, DogImportService dogImportService) {
         this.dogService = dogService;
+        this.dogExportService = dogExportService;
+        this.dogImportService = dogImportService;
     }
 
     @Secured(SecurityRule.IS_AUTHENTICATED)
@@ -27,9 +57,18 @@ public class DogController {
 
     @Secured(SecurityRule.IS_AUTHENTICATED)
     @Put("/{id}")
+    public HttpResponse<DogResponse> updateDog(@PathVariable UUID id,
+                                               @Nullable @Header(HttpHeaders.IF_MATCH) String ifMatch,
+                                               @Body DogRequest dogRequest) {
+        return dogService.updateDog(id, ifMatch, dogRequest);
+    }
+
+    @Secured(SecurityRule.IS_AUTHENTICATED)
     @Patch("/{id}")
-    public HttpResponse<DogResponse> updateDog(@PathVariable UUID id, @Body DogRequest dogRequest) {
-        return dogService.updateDog(id, dogRequest);
+    public HttpResponse<DogResponse> patchDog(@PathVariable UUID id,
+                                              @Nullable @Header(HttpHeaders.IF_MATCH) String ifMatch,
+                                              @Body DogRequest dogRequest) {
+        return dogService.patchDog(id, ifMatch, dogRequest);
     }
 
     @Secured(SecurityRule.IS_AUTHENTICATED)
@@ -43,4 +82,65 @@ public class DogController {
     public HttpResponse<DogResponse> getDog(@PathVariable UUID id) {
         return dogService.getDog(id);
     }
+
+    @Secured(SecurityRule.IS_AUTHENTICATED)
+    @Get
+    public HttpResponse<DogPageResponse> listDogs(@QueryValue UUID ownerId,
+                                                  @Nullable @QueryValue String after,
+                                                  @Nullable @QueryValue Integer limit) {
+        return dogService.listDogs(ownerId, after, limit);
+    }
+
+    @Secured(SecurityRule.IS_AUTHENTICATED)
+    @Get("/search")
+    public HttpResponse<DogSearchResponse> searchDogs(@Nullable @QueryValue String q,
+                                                      @Nullable @QueryValue String breed,
+                                                      @Nullable @QueryValue String gender,
+                                                      @Nullable @QueryValue Boolean neutered,
+                                                      @Nullable @QueryValue Boolean pedigree,
+                                                      @Nullable @QueryValue BigDecimal minWeight,
+                                                      @Nullable @QueryValue BigDecimal maxWeight,
+                                                      @Nullable @QueryValue Integer limit,
+                                                      @Nullable @QueryValue Integer offset,
+                                                      @QueryValue(defaultValue = "false") boolean facets) {
+        DogSearchCriteria criteria = new DogSearchCriteria(q == null || q.isBlank() ? null : q,
+                breed, gender, neutered, pedigree, minWeight, maxWeight);
+        return dogService.searchDogs(criteria, limit, offset, facets);
+    }
+
+    // One owner's dogs are as visible as the listing; the whole table is for administrators only
+    @Secured(SecurityRule.IS_AUTHENTICATED)
+    @Get(value = "/export", produces = NdjsonEncoder.MEDIA_TYPE)
+    public Publisher<byte[]> exportDogs(@Nullable @QueryValue UUID ownerId, Authentication authentication) {
+        if (ownerId == null && !authentication.getRoles().contains(UserRoles.ADMIN)) {
+            throw new HttpStatusException(HttpStatus.FORBIDDEN, "Exporting all dogs requires the admin role");
+        }
+        return dogExportService.exportDogs(ownerId);
+    }
+
+    // The body is read as a stream on the blocking executor, never buffered whole
+    @Secured(SecurityRule.IS_AUTHENTICATED)
+    @Post(value = "/import", consumes = {DogImportService.CSV, NdjsonEncoder.MEDIA_TYPE})
+    public HttpResponse<DogImportResponse> importDogs(@Header(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                      @Body InputStream body) {
+        return dogImportService.importDogs(body, contentType);
+    }
+
+    @Secured(SecurityRule.IS_AUTHENTICATED)
+    @Post("/batch")
+    public HttpResponse<DogBatchResponse> createDogs(@Body List<DogRequest> dogRequests) {
+        return dogService.createDogs(dogRequests);
+    }
+
+    @Secured(SecurityRule.IS_AUTHENTICATED)
+    @Put("/batch")
+    public HttpResponse<DogBatchResponse> updateDogs(@Body List<DogBatchUpdateItem> items) {
+        return dogService.updateDogs(items);
+    }
+
+    @Secured(SecurityRule.IS_AUTHENTICATED)
+    @Delete("/batch")
+    public HttpResponse<DogBatchResponse> deleteDogs(@Body List<UUID> ids) {
+        return dogService.deleteDogs(ids);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.dogial.dog.controller.model;
+
+import io.micronaut.http.HttpStatus;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.UUID;
+
+@Serdeable
+public record DogBatchItemResult(
+        int index,
+        UUID id,
+        int status,
+        String error,
+        DogResponse dog)
+{
+    public static DogBatchItemResult success(int index, HttpStatus status, DogResponse dog) {
+        return new DogBatchItemResult(index, dog.id(), status.getCode(), null, dog);
+    }
+
+    public static DogBatchItemResult success(int index, HttpStatus status, UUID id) {
+        return new DogBatchItemResult(index, id, status.getCode(), null, null);
+    }
+
+    public static DogBatchItemResult failure(int index, UUID id, HttpStatus status, String error) {
+        return new DogBatchItemResult(index, id, status.getCode(), error, null);
+    }
+
+    public boolean succeeded() {
+        return status < HttpStatus.BAD_REQUEST.getCode();
+    }
+}
@@ -0,0 +1,17 @@
+package com.dogial.dog.controller.model;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.List;
+
+@Serdeable
+public record DogBatchResponse(
+        int succeeded,
+        int failed,
+        List<DogBatchItemResult> results)
+{
+    public static DogBatchResponse of(List<DogBatchItemResult> results) {
+        int succeeded = (int) results.stream().filter(DogBatchItemResult::succeeded).count();
+        return new DogBatchResponse(succeeded, results.size() - succeeded, results);
+    }
+}
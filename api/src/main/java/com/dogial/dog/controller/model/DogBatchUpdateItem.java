@@ -0,0 +1,12 @@
+package com.dogial.dog.controller.model;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.UUID;
+
+@Serdeable
+public record DogBatchUpdateItem(
+        UUID id,
+        Long version,
+        DogRequest dog)
+{}
@@ -0,0 +1,9 @@
+package com.dogial.dog.controller.model;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+@Serdeable
+public record DogImportRejection(
+        long line,
+        String reason)
+{}
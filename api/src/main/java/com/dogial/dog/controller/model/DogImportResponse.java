@@ -0,0 +1,13 @@
+package com.dogial.dog.controller.model;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.List;
+
+@Serdeable
+public record DogImportResponse(
+        long received,
+        long imported,
+        long rejected,
+        List<DogImportRejection> rejections)
+{}
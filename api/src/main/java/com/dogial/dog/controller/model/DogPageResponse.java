@@ -0,0 +1,11 @@
+package com.dogial.dog.controller.model;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.List;
+
+@Serdeable
+public record DogPageResponse(
+        List<DogResponse> items,
+        String nextCursor)
+{}
@@ -16,5 +16,6 @@ public record DogResponse(
         String age,
         Boolean isNeutered,
         String behavior,
-        Boolean pedigree)
+        Boolean pedigree,
+        Long version)
 {}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.dogial.dog.controller.model;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.Map;
+
+@Serdeable
+public record DogSearchFacets(
+        Map<String, Long> breed,
+        Map<String, Long> gender)
+{}
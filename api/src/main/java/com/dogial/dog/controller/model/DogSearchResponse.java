@@ -0,0 +1,12 @@
+package com.dogial.dog.controller.model;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.List;
+
+@Serdeable
+public record DogSearchResponse(
+        List<DogResponse> items,
+        @Nullable DogSearchFacets facets)
+{}
@@ -3,14 +3,19 @@ package com.dogial.dog.mapper;
 import com.dogial.dog.controller.model.DogRequest;
 import com.dogial.dog.controller.model.DogResponse;
 import com.dogial.dog.persistence.entities.DogEntity;
+import io.micronaut.core.annotation.TypeHint;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
+// Mappers.getMapper instantiates the generated implementation reflectively
 @Mapper
+@TypeHint(typeNames = "com.dogial.dog.mapper.DogMapperImpl", accessType = TypeHint.AccessType.ALL_DECLARED_CONSTRUCTORS)
 public interface DogMapper {
     DogMapper INSTANCE = Mappers.getMapper(DogMapper.class);
 
     DogEntity toEntity(DogRequest dogRequest);
 
+    @Mapping(source = "owner.id", target = "ownerId")
     DogResponse toResponse(DogEntity dogEntity);
 }
\ No newline at end of file
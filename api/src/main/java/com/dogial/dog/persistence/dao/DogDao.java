@@ -1,24 +1,65 @@
 package com.dogial.dog.persistence.dao;
 
 import com.dogial.dog.persistence.entities.DogEntity;
+import com.dogial.dog.persistence.projections.DogFacetCounts;
+import com.dogial.executor.BlockingExecutorFactory;
+import com.dogial.metrics.Measured;
+import com.dogial.user.persistence.entities.UserEntity;
+import com.dogial.utils.StatelessScroll;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * Dogs of a soft-deleted owner stay visible to every read here, and can still be updated or deleted, until
+ * UserPurger removes them a few seconds later; only a new dog or a change of owner needs a live owner.
+ */
 @Singleton
 @Slf4j
+@Measured("dogial.dao")
 public class DogDao {
 
+    static final int STREAM_FETCH_SIZE = 1000;
+
     private final EntityManager entityManager;
+    private final SessionFactory sessionFactory;
+    private final Scheduler blockingScheduler;
 
     @Inject
-    public DogDao(EntityManager entityManager) {
+    public DogDao(EntityManager entityManager,
+                  EntityManagerFactory entityManagerFactory,
+                  @Named(BlockingExecutorFactory.BLOCKING) ExecutorService blockingExecutor) {
         this.entityManager = entityManager;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.blockingScheduler = Schedulers.fromExecutorService(blockingExecutor);
     }
 
     @Transactional
@@ -26,6 +67,78 @@ public class DogDao {
         return Optional.ofNullable(entityManager.find(DogEntity.class, id));
     }
 
+    @Transactional
+    public List<DogEntity> findByOwner(UUID ownerId, Instant afterCreatedAt, UUID afterId, int limit) {
+        final TypedQuery<DogEntity> query;
+        if (afterCreatedAt == null) {
+            query = entityManager.createQuery(
+                    "SELECT d FROM DogEntity d WHERE d.owner.id = :ownerId ORDER BY d.createdAt, d.id",
+                    DogEntity.class);
+        } else {
+            query = entityManager.createQuery(
+                            "SELECT d FROM DogEntity d WHERE d.owner.id = :ownerId "
+                                    + "AND (d.createdAt, d.id) > (:afterCreatedAt, :afterId) ORDER BY d.createdAt, d.id",
+                            DogEntity.class)
+                    .setParameter("afterCreatedAt", afterCreatedAt)
+                    .setParameter("afterId", afterId);
+        }
+        return query.setParameter("ownerId", ownerId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Rows are read from a server-side cursor as the subscriber requests them; owner-scoped streams use the
+    // (owner_id, created_at, id) index, the full-table stream reads in physical order
+    public Flux<DogEntity> stream(UUID ownerId) {
+        return StatelessScroll.stream(sessionFactory, STREAM_FETCH_SIZE, session -> ownerId == null
+                        ? session.createSelectionQuery("FROM DogEntity d", DogEntity.class)
+                        : session.createSelectionQuery(
+                                "FROM DogEntity d WHERE d.owner.id = :ownerId ORDER BY d.createdAt, d.id",
+                                DogEntity.class)
+                        .setParameter("ownerId", ownerId))
+                .subscribeOn(blockingScheduler);
+    }
+
+    // Native so the tsvector match and ranking can use the GIN index on search_vector
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public List<DogEntity> search(DogSearchCriteria criteria, int offset, int limit) {
+        Map<String, Object> parameters = new HashMap<>();
+        // Without a text query the (created_at DESC, id) index yields rows in order, so no sort over the matches
+        String orderBy = criteria.query() == null
+                ? " ORDER BY d.created_at DESC, d.id"
+                : " ORDER BY ts_rank(d.search_vector, websearch_to_tsquery('simple', :query)) DESC, d.id";
+        Query query = entityManager.createNativeQuery(
+                "SELECT d.* FROM dogs d" + searchFilter(criteria, parameters) + orderBy, DogEntity.class);
+        parameters.forEach(query::setParameter);
+        return query.setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Breed and gender counts for the same filter in a single scan
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public DogFacetCounts countFacets(DogSearchCriteria criteria) {
+        Map<String, Object> parameters = new HashMap<>();
+        Query query = entityManager.createNativeQuery(
+                "SELECT d.breed, d.gender, GROUPING(d.breed), count(*) FROM dogs d" + searchFilter(criteria, parameters)
+                        + " GROUP BY GROUPING SETS ((d.breed), (d.gender)) ORDER BY count(*) DESC");
+        parameters.forEach(query::setParameter);
+
+        Map<String, Long> breeds = new LinkedHashMap<>();
+        Map<String, Long> genders = new LinkedHashMap<>();
+        for (Object[] row : (List<Object[]>) query.getResultList()) {
+            long count = ((Number) row[3]).longValue();
+            if (((Number) row[2]).intValue() == 0) {
+                breeds.put((String) row[0], count);
+            } else {
+                genders.put((String) row[1], count);
+            }
+        }
+        return new DogFacetCounts(breeds, genders);
+    }
+
     @Transactional
     public DogEntity save(DogEntity entity) {
         entityManager.persist(entity);
@@ -33,14 +146,110 @@ public class DogDao {
     }
 
     @Transactional
-    public DogEntity update(DogEntity entity) {
-        return entityManager.merge(entity);
+    public List<DogEntity> saveAll(List<DogEntity> entities) {
+        for (DogEntity entity : entities) {
+            entityManager.persist(entity);
+        }
+        // Flush once so Hibernate groups the inserts into JDBC batches
+        entityManager.flush();
+        return entities;
+    }
+
+    @Transactional
+    public Map<UUID, DogEntity> findAllByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return entityManager.createQuery("SELECT d FROM DogEntity d WHERE d.id IN :ids", DogEntity.class)
+                .setParameter("ids", ids)
+                .getResultList()
+                .stream()
+                .collect(Collectors.toMap(DogEntity::getId, Function.identity()));
+    }
+
+    @Transactional
+    public boolean deleteById(UUID id) {
+        return !deleteAllByIds(List.of(id)).isEmpty();
+    }
+
+    // One statement and no entity loads; RETURNING tells the caller which ids existed
+    @Transactional
+    public Set<UUID> deleteAllByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return deleteReturning("DELETE FROM dogs WHERE id IN (:ids) RETURNING id, owner_id", Map.of("ids", ids));
     }
 
+    // Surfaces version conflicts inside the calling service method rather than at commit
     @Transactional
-    public void delete(DogEntity entity) {
-        entityManager.remove(entity);
+    public void flush() {
         entityManager.flush();
-        entityManager.clear();
     }
-}
\ No newline at end of file
+
+    // Deletes the next batch of an owner's dogs and returns their ids; the owner index finds them, the primary key
+    // removes them
+    @Transactional
+    public Set<UUID> deleteBatchByOwner(UUID ownerId, int batchSize) {
+        return deleteReturning("DELETE FROM dogs WHERE id IN (SELECT id FROM dogs WHERE owner_id = :ownerId "
+                + "LIMIT :batchSize) RETURNING id, owner_id", Map.of("ownerId", ownerId, "batchSize", batchSize));
+    }
+
+    // Read as a result list rather than executeUpdate, so Hibernate does not evict whole cache regions;
+    // only the deleted dogs and their owners' dog collections are evicted
+    @SuppressWarnings("unchecked")
+    private Set<UUID> deleteReturning(String sql, Map<String, Object> parameters) {
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class);
+        parameters.forEach((name, value) -> {
+            if (value instanceof Collection<?> values) {
+                query.setParameterList(name, values);
+            } else {
+                query.setParameter(name, value);
+            }
+        });
+        List<Object[]> rows = query.addScalar("id", StandardBasicTypes.UUID)
+                .addScalar("owner_id", StandardBasicTypes.UUID)
+                .getResultList();
+        Cache cache = sessionFactory.getCache();
+        Set<UUID> deleted = new HashSet<>(rows.size());
+        for (Object[] row : rows) {
+            deleted.add((UUID) row[0]);
+            cache.evictEntityData(DogEntity.class, row[0]);
+            cache.evictCollectionData(UserEntity.DOGS_ROLE, row[1]);
+        }
+        return deleted;
+    }
+
+    private static String searchFilter(DogSearchCriteria criteria, Map<String, Object> parameters) {
+        List<String> conditions = new ArrayList<>();
+        if (criteria.query() != null) {
+            conditions.add("d.search_vector @@ websearch_to_tsquery('simple', :query)");
+            parameters.put("query", criteria.query());
+        }
+        if (criteria.breed() != null) {
+            conditions.add("d.breed = :breed");
+            parameters.put("breed", criteria.breed());
+        }
+        if (criteria.gender() != null) {
+            conditions.add("d.gender = :gender");
+            parameters.put("gender", criteria.gender());
+        }
+        if (criteria.isNeutered() != null) {
+            conditions.add("d.is_neutered = :isNeutered");
+            parameters.put("isNeutered", criteria.isNeutered());
+        }
+        if (criteria.pedigree() != null) {
+            conditions.add("d.pedigree = :pedigree");
+            parameters.put("pedigree", criteria.pedigree());
+        }
+        if (criteria.minWeight() != null) {
+            conditions.add("d.weight >= :minWeight");
+            parameters.put("minWeight", criteria.minWeight());
+        }
+        if (criteria.maxWeight() != null) {
+            conditions.add("d.weight <= :maxWeight");
+            parameters.put("maxWeight", criteria.maxWeight());
+        }
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+}
@@ -0,0 +1,146 @@
+package com.dogial.dog.persistence.dao;
+
+import com.dogial.dog.controller.model.DogRequest;
+import jakarta.inject.Singleton;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bulk loading of dogs: rows are COPYed into a per-connection staging table and merged into {@code dogs}
+ * with one INSERT ... SELECT, bypassing the persistence context entirely.
+ */
+@Singleton
+public class DogImportDao {
+
+    private static final String CREATE_STAGING = "CREATE TEMP TABLE dogs_import_staging ("
+            + "owner_id UUID NOT NULL, name VARCHAR(100) NOT NULL, breed VARCHAR(100) NOT NULL, "
+            + "gender VARCHAR(20) NOT NULL, weight DECIMAL(5,2), age VARCHAR(20), is_neutered BOOLEAN, "
+            + "behavior TEXT, pedigree BOOLEAN) ON COMMIT DROP";
+    private static final String COPY_STAGING = "COPY dogs_import_staging "
+            + "(owner_id, name, breed, gender, weight, age, is_neutered, behavior, pedigree) FROM STDIN WITH (FORMAT csv)";
+    private static final String MERGE = "INSERT INTO dogs "
+            + "(owner_id, name, breed, gender, weight, age, is_neutered, behavior, pedigree) "
+            + "SELECT owner_id, name, breed, gender, weight, age, coalesce(is_neutered, false), behavior, "
+            + "coalesce(pedigree, false) FROM dogs_import_staging";
+    private static final String EXISTING_OWNERS = "SELECT id FROM users WHERE id = ANY (?) AND deleted_at IS NULL";
+
+    private final DataSource dataSource;
+
+    public DogImportDao(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public ImportSession open() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        try {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(CREATE_STAGING)) {
+                statement.execute();
+            }
+            return new ImportSession(connection, connection.unwrap(PGConnection.class).getCopyAPI());
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    /**
+     * One import, on one connection and in one transaction; closing without {@link #commit()} rolls it back.
+     */
+    public static class ImportSession implements AutoCloseable {
+
+        private final Connection connection;
+        private final CopyManager copyManager;
+        private boolean committed;
+
+        ImportSession(Connection connection, CopyManager copyManager) {
+            this.connection = connection;
+            this.copyManager = copyManager;
+        }
+
+        public Set<UUID> findExistingOwners(Collection<UUID> ids) throws SQLException {
+            Set<UUID> existing = new HashSet<>();
+            try (PreparedStatement statement = connection.prepareStatement(EXISTING_OWNERS)) {
+                Array array = connection.createArrayOf("uuid", ids.toArray());
+                statement.setArray(1, array);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        existing.add(resultSet.getObject(1, UUID.class));
+                    }
+                }
+                array.free();
+            }
+            return existing;
+        }
+
+        public long stage(List<DogRequest> dogs) throws SQLException, IOException {
+            return copyManager.copyIn(COPY_STAGING, new StringReader(toCsv(dogs)));
+        }
+
+        public int merge() throws SQLException {
+            try (PreparedStatement statement = connection.prepareStatement(MERGE)) {
+                return statement.executeUpdate();
+            }
+        }
+
+        public void commit() throws SQLException {
+            connection.commit();
+            committed = true;
+        }
+
+        // The connection goes back to the pool even when the rollback fails, e.g. on a socket a failed COPY
+        // broke; Hikari restores auto-commit on return
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (!committed) {
+                    connection.rollback();
+                }
+            } finally {
+                connection.close();
+            }
+        }
+
+        private static String toCsv(List<DogRequest> dogs) {
+            StringBuilder csv = new StringBuilder(dogs.size() * 96);
+            for (DogRequest dog : dogs) {
+                csv.append(dog.ownerId()).append(',');
+                appendQuoted(csv, dog.name()).append(',');
+                appendQuoted(csv, dog.breed()).append(',');
+                appendQuoted(csv, dog.gender()).append(',');
+                append(csv, dog.weight() == null ? null : dog.weight().toPlainString()).append(',');
+                appendQuoted(csv, dog.age()).append(',');
+                append(csv, dog.isNeutered()).append(',');
+                appendQuoted(csv, dog.behavior()).append(',');
+                append(csv, dog.pedigree()).append('\n');
+            }
+            return csv.toString();
+        }
+
+        // In COPY csv format an unquoted empty field is NULL and a quoted one is an empty string
+        private static StringBuilder appendQuoted(StringBuilder csv, String value) {
+            if (value == null) {
+                return csv;
+            }
+            return csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+
+        private static StringBuilder append(StringBuilder csv, Object value) {
+            return value == null ? csv : csv.append(value);
+        }
+    }
+}
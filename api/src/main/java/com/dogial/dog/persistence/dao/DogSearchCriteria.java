@@ -0,0 +1,16 @@
+package com.dogial.dog.persistence.dao;
+
+import java.math.BigDecimal;
+
+/**
+ * Filters for {@link DogDao#search}; null fields are not applied.
+ */
+public record DogSearchCriteria(
+        String query,
+        String breed,
+        String gender,
+        Boolean isNeutered,
+        Boolean pedigree,
+        BigDecimal minWeight,
+        BigDecimal maxWeight)
+{}
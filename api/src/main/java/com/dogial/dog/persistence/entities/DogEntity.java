@@ -1,9 +1,14 @@
 package com.dogial.dog.persistence.entities;
 
 import com.dogial.user.persistence.entities.UserEntity;
+import com.dogial.utils.GeneratedUuidV7;
 import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.annotation.ReflectiveAccess;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -15,12 +20,18 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 @Introspected
+@ReflectiveAccess
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = DogEntity.CACHE_REGION)
+@DynamicUpdate
 @Table(name = "dogs")
 public class DogEntity {
 
+    public static final String CACHE_REGION = "dogial.dogs";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedUuidV7
     @Column(name = "id", columnDefinition = "uuid")
     private UUID id;
 
@@ -58,6 +69,10 @@ public class DogEntity {
     @Column(name = "updated_at")
     private Instant updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = Instant.now();
@@ -0,0 +1,6 @@
+package com.dogial.dog.persistence.projections;
+
+import java.util.Map;
+
+public record DogFacetCounts(Map<String, Long> breed, Map<String, Long> gender) {
+}
@@ -0,0 +1,26 @@
+package com.dogial.dog.service;
+
+/**
+ * Strong entity tag of a dog: its optimistic-lock version in quotes. Updates must send the tag they read in
+ * If-Match, so a write based on a stale read is refused instead of silently overwriting the newer version.
+ * {@code *} is not accepted, as it would skip exactly that check.
+ */
+public final class DogETag {
+
+    private DogETag() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    public static boolean matches(String ifMatch, Long version) {
+        String current = of(version);
+        for (String tag : ifMatch.split(",")) {
+            if (tag.trim().equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,30 @@
+package com.dogial.dog.service;
+
+import com.dogial.dog.mapper.DogMapper;
+import com.dogial.dog.persistence.dao.DogDao;
+import com.dogial.metrics.Measured;
+import com.dogial.utils.NdjsonEncoder;
+import jakarta.inject.Singleton;
+import org.reactivestreams.Publisher;
+
+import java.util.UUID;
+
+// Not @Transactional: the export is a lazy stream that manages its own cursor and connection
+@Singleton
+@Measured("dogial.service")
+public class DogExportService {
+
+    private final DogDao dogDao;
+    private final DogMapper dogMapper;
+    private final NdjsonEncoder ndjsonEncoder;
+
+    public DogExportService(DogDao dogDao, NdjsonEncoder ndjsonEncoder) {
+        this.dogDao = dogDao;
+        this.dogMapper = DogMapper.INSTANCE;
+        this.ndjsonEncoder = ndjsonEncoder;
+    }
+
+    public Publisher<byte[]> exportDogs(UUID ownerId) {
+        return ndjsonEncoder.encode(dogDao.stream(ownerId).map(dogMapper::toResponse));
+    }
+}
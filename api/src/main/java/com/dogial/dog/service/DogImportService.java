@@ -0,0 +1,262 @@
+package com.dogial.dog.service;
+
+import com.dogial.dog.controller.model.DogImportRejection;
+import com.dogial.dog.controller.model.DogImportResponse;
+import com.dogial.dog.controller.model.DogRequest;
+import com.dogial.dog.persistence.dao.DogImportDao;
+import com.dogial.metrics.Measured;
+import com.dogial.user.persistence.entities.UserEntity;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.exceptions.HttpStatusException;
+import io.micronaut.serde.ObjectMapper;
+import jakarta.inject.Singleton;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Streams a CSV (with header) or NDJSON upload into {@link DogImportDao} in chunks. Each chunk's owners are
+ * checked in one query and the surviving rows are COPYed to staging; everything is merged in one statement at
+ * the end, so an import is all-or-nothing for the rows that passed validation.
+ */
+// Not @Transactional: the import runs on its own connection and transaction
+@Singleton
+@Slf4j
+@Measured("dogial.service")
+public class DogImportService {
+
+    public static final String CSV = "text/csv";
+    static final int CHUNK_SIZE = 10_000;
+    static final int MAX_REPORTED_REJECTIONS = 100;
+    private static final List<String> CSV_COLUMNS =
+            List.of("ownerId", "name", "breed", "gender", "weight", "age", "isNeutered", "behavior", "pedigree");
+    private static final BigDecimal MAX_WEIGHT = new BigDecimal("999.99");
+
+    private final DogImportDao dogImportDao;
+    private final ObjectMapper objectMapper;
+    private final SessionFactory sessionFactory;
+
+    public DogImportService(DogImportDao dogImportDao, ObjectMapper objectMapper,
+                            EntityManagerFactory entityManagerFactory) {
+        this.dogImportDao = dogImportDao;
+        this.objectMapper = objectMapper;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    public HttpResponse<DogImportResponse> importDogs(InputStream body, String contentType) {
+        boolean csv = contentType != null && contentType.startsWith(CSV);
+        Progress progress = new Progress();
+        long started = System.nanoTime();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+             DogImportDao.ImportSession session = dogImportDao.open()) {
+            Map<String, Integer> header = csv ? readHeader(reader.readLine()) : null;
+            List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+            long lineNumber = csv ? 1 : 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                progress.received++;
+                try {
+                    DogRequest dog = csv ? parseCsv(line, header) : objectMapper.readValue(line, DogRequest.class);
+                    String invalid = validate(dog);
+                    if (invalid == null) {
+                        chunk.add(new ImportRow(lineNumber, dog));
+                    } else {
+                        progress.reject(lineNumber, invalid);
+                    }
+                } catch (IOException | IllegalArgumentException e) {
+                    progress.reject(lineNumber, "Unparseable row");
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    stageChunk(session, chunk, progress);
+                    chunk.clear();
+                }
+            }
+            stageChunk(session, chunk, progress);
+
+            progress.imported = session.merge();
+            session.commit();
+        } catch (SQLException | IOException e) {
+            log.error("Dog import failed after {} rows", progress.received, e);
+            throw new HttpStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Import failed");
+        }
+
+        // The merge bypassed Hibernate, so cached owner -> dogs collections are stale
+        sessionFactory.getCache().evictCollectionData(UserEntity.DOGS_ROLE);
+        long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        log.info("Dog import finished: {} received, {} imported, {} rejected in {} ms ({} rows/s)",
+                progress.received, progress.imported, progress.rejected, elapsedMillis,
+                progress.imported * 1000 / elapsedMillis);
+        return HttpResponse.ok(new DogImportResponse(progress.received, progress.imported, progress.rejected,
+                progress.rejections));
+    }
+
+    private void stageChunk(DogImportDao.ImportSession session, List<ImportRow> chunk, Progress progress)
+            throws SQLException, IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<UUID> owners = session.findExistingOwners(chunk.stream()
+                .map(row -> row.dog().ownerId())
+                .collect(Collectors.toSet()));
+        List<DogRequest> accepted = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (owners.contains(row.dog().ownerId())) {
+                accepted.add(row.dog());
+            } else {
+                progress.reject(row.line(), "Owner does not exist");
+            }
+        }
+        if (!accepted.isEmpty()) {
+            progress.staged += session.stage(accepted);
+        }
+        log.info("Dog import progress: {} received, {} staged, {} rejected",
+                progress.received, progress.staged, progress.rejected);
+    }
+
+    private static Map<String, Integer> readHeader(String line) {
+        if (line == null) {
+            throw new HttpStatusException(HttpStatus.BAD_REQUEST, "CSV header is missing");
+        }
+        List<String> columns = splitCsv(line);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(columns.get(i).trim(), i);
+        }
+        if (!header.keySet().containsAll(List.of("ownerId", "name", "breed", "gender"))) {
+            log.warn("CSV header {} lacks required columns", line);
+            throw new HttpStatusException(HttpStatus.BAD_REQUEST, "CSV header must include " + CSV_COLUMNS);
+        }
+        return header;
+    }
+
+    private static DogRequest parseCsv(String line, Map<String, Integer> header) {
+        List<String> values = splitCsv(line);
+        Map<String, String> row = new HashMap<>();
+        header.forEach((column, index) -> {
+            if (index < values.size() && !values.get(index).isEmpty()) {
+                row.put(column, values.get(index));
+            }
+        });
+        return new DogRequest(
+                row.containsKey("ownerId") ? UUID.fromString(row.get("ownerId")) : null,
+                row.get("name"),
+                row.get("breed"),
+                row.get("gender"),
+                row.containsKey("weight") ? new BigDecimal(row.get("weight")) : null,
+                row.get("age"),
+                parseBoolean(row.get("isNeutered")),
+                row.get("behavior"),
+                parseBoolean(row.get("pedigree")));
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if (value == null) {
+            return null;
+        }
+        if (value.equalsIgnoreCase("true")) {
+            return Boolean.TRUE;
+        }
+        if (value.equalsIgnoreCase("false")) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException("Not a boolean: " + value);
+    }
+
+    // RFC 4180 fields on a single line: quoted fields may contain commas and doubled quotes
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // Mirrors the dogs column constraints so a bad row is rejected instead of failing the whole COPY
+    private static String validate(DogRequest dog) {
+        if (dog == null) {
+            return "Empty row";
+        }
+        if (dog.ownerId() == null) {
+            return "Owner is required";
+        }
+        if (isBlank(dog.name()) || dog.name().length() > 100) {
+            return "Name must be 1-100 characters";
+        }
+        if (isBlank(dog.breed()) || dog.breed().length() > 100) {
+            return "Breed must be 1-100 characters";
+        }
+        if (isBlank(dog.gender()) || dog.gender().length() > 20) {
+            return "Gender must be 1-20 characters";
+        }
+        if (dog.age() != null && dog.age().length() > 20) {
+            return "Age must be at most 20 characters";
+        }
+        if (dog.weight() != null && (dog.weight().signum() < 0 || dog.weight().compareTo(MAX_WEIGHT) > 0
+                || dog.weight().stripTrailingZeros().scale() > 2)) {
+            return "Weight must be between 0 and 999.99 with at most two decimals";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private record ImportRow(long line, DogRequest dog) {
+    }
+
+    private static final class Progress {
+        long received;
+        long staged;
+        long imported;
+        long rejected;
+        final List<DogImportRejection> rejections = new ArrayList<>();
+
+        void reject(long line, String reason) {
+            rejected++;
+            if (rejections.size() < MAX_REPORTED_REJECTIONS) {
+                rejections.add(new DogImportRejection(line, reason));
+            }
+        }
+    }
+}
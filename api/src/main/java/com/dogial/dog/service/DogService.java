@@ -1,101 +1,449 @@
 package com.dogial.dog.service;
 
+import com.dogial.dog.controller.model.DogBatchItemResult;
+import com.dogial.dog.controller.model.DogBatchResponse;
+import com.dogial.dog.controller.model.DogBatchUpdateItem;
+import com.dogial.dog.controller.model.DogPageResponse;
 import com.dogial.dog.controller.model.DogRequest;
 import com.dogial.dog.controller.model.DogResponse;
+import com.dogial.dog.controller.model.DogSearchFacets;
+import com.dogial.dog.controller.model.DogSearchResponse;
 import com.dogial.dog.mapper.DogMapper;
 import com.dogial.dog.persistence.dao.DogDao;
+import com.dogial.dog.persistence.dao.DogSearchCriteria;
 import com.dogial.dog.persistence.entities.DogEntity;
+import com.dogial.dog.persistence.projections.DogFacetCounts;
+import com.dogial.metrics.Measured;
 import com.dogial.user.persistence.dao.UserDao;
 import com.dogial.user.persistence.entities.UserEntity;
+import com.dogial.utils.AfterTransaction;
+import com.dogial.utils.SampledLogger;
+import io.micronaut.cache.SyncCache;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MutableHttpResponse;
 import io.micronaut.http.exceptions.HttpStatusException;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Singleton
 @Slf4j
 @Transactional
+@Measured("dogial.service")
 public class DogService {
 
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+    static final int MAX_BATCH_SIZE = 1000;
+    // Deep offsets make Postgres rank and skip every earlier match; past this, callers should narrow the filter
+    static final int MAX_SEARCH_OFFSET = 1000;
+    // Column limits of dogs, see V1
+    static final int MAX_NAME_LENGTH = 100;
+    static final int MAX_BREED_LENGTH = 100;
+    static final int MAX_GENDER_LENGTH = 20;
+    static final int MAX_AGE_LENGTH = 20;
+    static final BigDecimal MAX_WEIGHT = new BigDecimal("999.99");
+
+    private final SampledLogger notFoundLog = SampledLogger.notFound(log);
     private final DogDao dogDao;
     private final UserDao userDao;
     private final DogMapper dogMapper;
+    private final SyncCache<?> dogCache;
+    private final AfterTransaction afterTransaction;
 
     @Inject
-    public DogService(DogDao dogDao, UserDao userDao) {
+    public DogService(DogDao dogDao,
+                      UserDao userDao,
+                      @Named("dogs") SyncCache<?> dogCache,
+                      AfterTransaction afterTransaction) {
         this.dogDao = dogDao;
         this.userDao = userDao;
         this.dogMapper = DogMapper.INSTANCE;
+        this.dogCache = dogCache;
+        this.afterTransaction = afterTransaction;
     }
 
     @Transactional
     public HttpResponse<DogResponse> createDog(DogRequest dogRequest) {
         Optional<UserEntity> owner = userDao.findById(dogRequest.ownerId());
         if (owner.isEmpty()) {
-            log.error("Owner with ID {} does not exist", dogRequest.ownerId());
+            notFoundLog.info("Owner with ID {} does not exist", dogRequest.ownerId());
             throw new HttpStatusException(HttpStatus.NOT_FOUND, "Owner does not exist");
         }
         DogEntity dogEntity = dogMapper.toEntity(dogRequest);
         dogEntity.setOwner(owner.get());
         DogEntity savedDog = dogDao.save(dogEntity);
         DogResponse dogResponse = dogMapper.toResponse(savedDog);
-        return HttpResponse.created(dogResponse);
+        return withETag(HttpResponse.created(dogResponse));
     }
 
     @Transactional
-    public HttpResponse<DogResponse> updateDog(UUID id, DogRequest dogRequest) {
+    public HttpResponse<DogResponse> updateDog(UUID id, String ifMatch, DogRequest dogRequest) {
         Optional<DogEntity> existingDog = dogDao.findById(id);
         if (existingDog.isPresent()) {
-            Optional<UserEntity> owner = userDao.findById(dogRequest.ownerId());
-            if (owner.isEmpty()) {
-                log.error("Owner with ID {} does not exist", dogRequest.ownerId());
-                throw new HttpStatusException(HttpStatus.NOT_FOUND, "Owner does not exist");
-            }
             DogEntity dogEntity = existingDog.get();
-            dogEntity.setOwner(owner.get());
-            dogEntity.setName(dogRequest.name());
-            dogEntity.setBreed(dogRequest.breed());
-            dogEntity.setGender(dogRequest.gender());
-            dogEntity.setWeight(dogRequest.weight());
-            dogEntity.setAge(dogRequest.age());
-            dogEntity.setIsNeutered(dogRequest.isNeutered());
-            dogEntity.setBehavior(dogRequest.behavior());
-            dogEntity.setPedigree(dogRequest.pedigree());
-            dogDao.update(dogEntity);
+            checkVersion(dogEntity, ifMatch);
+            // The entity is managed: dirty checking writes the changed columns, no merge needed
+            applyRequest(dogEntity, dogRequest, resolveOwner(dogEntity, dogRequest.ownerId()));
+            dogDao.flush();
+            afterTransaction.run(() -> dogCache.invalidate(id));
             DogResponse dogResponse = dogMapper.toResponse(dogEntity);
-            return HttpResponse.ok(dogResponse);
+            return withETag(HttpResponse.ok(dogResponse));
         } else {
-            log.error("Dog with ID {} does not exist", id);
+            notFoundLog.info("Dog with ID {} does not exist", id);
+            throw new HttpStatusException(HttpStatus.NOT_FOUND, "Dog does not exist");
+        }
+    }
+
+    @Transactional
+    public HttpResponse<DogResponse> patchDog(UUID id, String ifMatch, DogRequest dogRequest) {
+        Optional<DogEntity> existingDog = dogDao.findById(id);
+        if (existingDog.isPresent()) {
+            DogEntity dogEntity = existingDog.get();
+            checkVersion(dogEntity, ifMatch);
+            // Only fields present in the request are touched
+            if (dogRequest.ownerId() != null) {
+                dogEntity.setOwner(resolveOwner(dogEntity, dogRequest.ownerId()));
+            }
+            if (dogRequest.name() != null) {
+                dogEntity.setName(dogRequest.name());
+            }
+            if (dogRequest.breed() != null) {
+                dogEntity.setBreed(dogRequest.breed());
+            }
+            if (dogRequest.gender() != null) {
+                dogEntity.setGender(dogRequest.gender());
+            }
+            if (dogRequest.weight() != null) {
+                dogEntity.setWeight(dogRequest.weight());
+            }
+            if (dogRequest.age() != null) {
+                dogEntity.setAge(dogRequest.age());
+            }
+            if (dogRequest.isNeutered() != null) {
+                dogEntity.setIsNeutered(dogRequest.isNeutered());
+            }
+            if (dogRequest.behavior() != null) {
+                dogEntity.setBehavior(dogRequest.behavior());
+            }
+            if (dogRequest.pedigree() != null) {
+                dogEntity.setPedigree(dogRequest.pedigree());
+            }
+            dogDao.flush();
+            afterTransaction.run(() -> dogCache.invalidate(id));
+            return withETag(HttpResponse.ok(dogMapper.toResponse(dogEntity)));
+        } else {
+            notFoundLog.info("Dog with ID {} does not exist", id);
             throw new HttpStatusException(HttpStatus.NOT_FOUND, "Dog does not exist");
         }
     }
 
     @Transactional
     public HttpResponse<Void> deleteDog(UUID id) {
-        Optional<DogEntity> dogEntity = dogDao.findById(id);
-        if (dogEntity.isPresent()) {
-            dogDao.delete(dogEntity.get());
+        if (dogDao.deleteById(id)) {
+            afterTransaction.run(() -> dogCache.invalidate(id));
             return HttpResponse.noContent();
         } else {
-            log.error("Dog with ID {} does not exist", id);
+            notFoundLog.info("Dog with ID {} does not exist", id);
             throw new HttpStatusException(HttpStatus.NOT_FOUND, "Dog does not exist");
         }
     }
 
-    @Transactional
+    // SUPPORTS keeps a cache hit from opening a transaction and borrowing a connection
+    @Transactional(Transactional.TxType.SUPPORTS)
     public HttpResponse<DogResponse> getDog(UUID id) {
+        Optional<DogResponse> cached = dogCache.get(id, DogResponse.class);
+        if (cached.isPresent()) {
+            return withETag(HttpResponse.ok(cached.get()));
+        }
         Optional<DogEntity> dog = dogDao.findById(id);
         if (dog.isPresent()) {
-            return HttpResponse.ok(dogMapper.toResponse(dog.get()));
+            DogResponse dogResponse = dogMapper.toResponse(dog.get());
+            dogCache.put(id, dogResponse);
+            return withETag(HttpResponse.ok(dogResponse));
         } else {
-            log.error("Dog with ID {} does not exist", id);
+            notFoundLog.info("Dog with ID {} does not exist", id);
             throw new HttpStatusException(HttpStatus.NOT_FOUND, "Dog does not exist");
         }
     }
+
+    @Transactional
+    public HttpResponse<DogPageResponse> listDogs(UUID ownerId, String after, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            log.warn("Page size {} is outside of [1, {}]", pageSize, MAX_PAGE_SIZE);
+            throw new HttpStatusException(HttpStatus.BAD_REQUEST, "Invalid page size");
+        }
+        DogCursor cursor = after == null ? null : DogCursor.decode(after);
+
+        // Fetch one extra row to know whether another page follows
+        List<DogEntity> dogs = dogDao.findByOwner(ownerId,
+                cursor == null ? null : cursor.createdAt(),
+                cursor == null ? null : cursor.id(),
+                pageSize + 1);
+        String nextCursor = null;
+        if (dogs.size() > pageSize) {
+            dogs = dogs.subList(0, pageSize);
+            DogEntity last = dogs.get(pageSize - 1);
+            nextCursor = new DogCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        List<DogResponse> items = dogs.stream().map(dogMapper::toResponse).toList();
+        return HttpResponse.ok(new DogPageResponse(items, nextCursor));
+    }
+
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public HttpResponse<DogSearchResponse> searchDogs(DogSearchCriteria criteria, Integer limit, Integer offset,
+                                                      boolean facets) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            log.warn("Page size {} is outside of [1, {}]", pageSize, MAX_PAGE_SIZE);
+            throw new HttpStatusException(HttpStatus.BAD_REQUEST, "Invalid page size");
+        }
+        int start = offset == null ? 0 : offset;
+        if (start < 0 || start > MAX_SEARCH_OFFSET) {
+            log.warn("Search offset {} is outside of [0, {}]", start, MAX_SEARCH_OFFSET);
+            throw new HttpStatusException(HttpStatus.BAD_REQUEST, "Invalid offset");
+        }
+        if (criteria.minWeight() != null && criteria.maxWeight() != null
+                && criteria.minWeight().compareTo(criteria.maxWeight()) > 0) {
+            log.warn("Weight range {} - {} is empty", criteria.minWeight(), criteria.maxWeight());
+            throw new HttpStatusException(HttpStatus.BAD_REQUEST, "Invalid weight range");
+        }
+
+        List<DogResponse> items = dogDao.search(criteria, start, pageSize).stream()
+                .map(dogMapper::toResponse)
+                .toList();
+        DogSearchFacets searchFacets = null;
+        if (facets) {
+            DogFacetCounts counts = dogDao.countFacets(criteria);
+            searchFacets = new DogSearchFacets(counts.breed(), counts.gender());
+        }
+        return HttpResponse.ok(new DogSearchResponse(items, searchFacets));
+    }
+
+    @Transactional
+    public HttpResponse<DogBatchResponse> createDogs(List<DogRequest> dogRequests) {
+        validateBatchSize(dogRequests);
+        Map<UUID, UserEntity> owners = userDao.findAllByIds(dogRequests.stream()
+                .filter(Objects::nonNull)
+                .map(DogRequest::ownerId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
+        DogBatchItemResult[] results = new DogBatchItemResult[dogRequests.size()];
+        DogEntity[] dogEntities = new DogEntity[dogRequests.size()];
+        List<DogEntity> toSave = new ArrayList<>(dogRequests.size());
+        for (int i = 0; i < dogRequests.size(); i++) {
+            DogRequest dogRequest = dogRequests.get(i);
+            String invalid = validateBatchItem(dogRequest);
+            if (invalid != null) {
+                log.warn("Batch item {} is invalid: {}", i, invalid);
+                results[i] = DogBatchItemResult.failure(i, null, HttpStatus.BAD_REQUEST, invalid);
+                continue;
+            }
+            UserEntity owner = owners.get(dogRequest.ownerId());
+            if (owner == null) {
+                notFoundLog.info("Owner with ID {} does not exist", dogRequest.ownerId());
+                results[i] = DogBatchItemResult.failure(i, null, HttpStatus.NOT_FOUND, "Owner does not exist");
+                continue;
+            }
+            DogEntity dogEntity = dogMapper.toEntity(dogRequest);
+            dogEntity.setOwner(owner);
+            dogEntities[i] = dogEntity;
+            toSave.add(dogEntity);
+        }
+        dogDao.saveAll(toSave);
+
+        for (int i = 0; i < dogRequests.size(); i++) {
+            if (dogEntities[i] != null) {
+                results[i] = DogBatchItemResult.success(i, HttpStatus.CREATED, dogMapper.toResponse(dogEntities[i]));
+            }
+        }
+        return HttpResponse.ok(DogBatchResponse.of(Arrays.asList(results)));
+    }
+
+    @Transactional
+    public HttpResponse<DogBatchResponse> updateDogs(List<DogBatchUpdateItem> items) {
+        validateBatchSize(items);
+        Map<UUID, DogEntity> dogs = dogDao.findAllByIds(items.stream()
+                .map(DogBatchUpdateItem::id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        Map<UUID, UserEntity> owners = userDao.findAllByIds(items.stream()
+                .map(DogBatchUpdateItem::dog)
+                .filter(Objects::nonNull)
+                .map(DogRequest::ownerId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
+        // Loaded entities are managed, so dirty checking writes the changes as batched updates at the flush
+        DogBatchItemResult[] results = new DogBatchItemResult[items.size()];
+        DogEntity[] updated = new DogEntity[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            DogBatchUpdateItem item = items.get(i);
+            DogEntity dogEntity = item.id() == null ? null : dogs.get(item.id());
+            if (dogEntity == null) {
+                notFoundLog.info("Dog with ID {} does not exist", item.id());
+                results[i] = DogBatchItemResult.failure(i, item.id(), HttpStatus.NOT_FOUND, "Dog does not exist");
+                continue;
+            }
+            if (item.version() == null) {
+                log.warn("Batch update of dog {} without a version", item.id());
+                results[i] = DogBatchItemResult.failure(i, item.id(), HttpStatus.PRECONDITION_REQUIRED,
+                        "Version is required");
+                continue;
+            }
+            if (!item.version().equals(dogEntity.getVersion())) {
+                log.warn("Batch update of dog {} at version {}, current is {}", item.id(), item.version(),
+                        dogEntity.getVersion());
+                results[i] = DogBatchItemResult.failure(i, item.id(), HttpStatus.PRECONDITION_FAILED,
+                        "Dog was modified");
+                continue;
+            }
+            String invalid = validateBatchItem(item.dog());
+            if (invalid != null) {
+                log.warn("Batch update of dog {} is invalid: {}", item.id(), invalid);
+                results[i] = DogBatchItemResult.failure(i, item.id(), HttpStatus.BAD_REQUEST, invalid);
+                continue;
+            }
+            UserEntity owner = owners.get(item.dog().ownerId());
+            if (owner == null) {
+                notFoundLog.info("Owner with ID {} does not exist", item.dog().ownerId());
+                results[i] = DogBatchItemResult.failure(i, item.id(), HttpStatus.NOT_FOUND, "Owner does not exist");
+                continue;
+            }
+            applyRequest(dogEntity, item.dog(), owner);
+            afterTransaction.run(() -> dogCache.invalidate(dogEntity.getId()));
+            updated[i] = dogEntity;
+        }
+        dogDao.flush();
+
+        // Mapped after the flush so each response carries the version a follow-up update has to match
+        for (int i = 0; i < items.size(); i++) {
+            if (updated[i] != null) {
+                results[i] = DogBatchItemResult.success(i, HttpStatus.OK, dogMapper.toResponse(updated[i]));
+            }
+        }
+        return HttpResponse.ok(DogBatchResponse.of(Arrays.asList(results)));
+    }
+
+    @Transactional
+    public HttpResponse<DogBatchResponse> deleteDogs(List<UUID> ids) {
+        validateBatchSize(ids);
+        // The ids the delete returned are the ones that existed
+        Set<UUID> existingIds = dogDao.deleteAllByIds(ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        afterTransaction.run(() -> existingIds.forEach(dogCache::invalidate));
+
+        List<DogBatchItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            UUID id = ids.get(i);
+            if (existingIds.contains(id)) {
+                results.add(DogBatchItemResult.success(i, HttpStatus.NO_CONTENT, id));
+            } else {
+                notFoundLog.info("Dog with ID {} does not exist", id);
+                results.add(DogBatchItemResult.failure(i, id, HttpStatus.NOT_FOUND, "Dog does not exist"));
+            }
+        }
+        return HttpResponse.ok(DogBatchResponse.of(results));
+    }
+
+    private void validateBatchSize(List<?> items) {
+        if (items == null || items.isEmpty() || items.size() > MAX_BATCH_SIZE) {
+            log.warn("Batch size must be between 1 and {}", MAX_BATCH_SIZE);
+            throw new HttpStatusException(HttpStatus.BAD_REQUEST, "Invalid batch size");
+        }
+    }
+
+    // Mirrors the NOT NULL and length limits of the dogs columns, so a bad item is reported on its own instead of
+    // failing the whole batch at the flush; null when the item can be stored
+    private static String validateBatchItem(DogRequest dogRequest) {
+        if (dogRequest == null) {
+            return "Dog is required";
+        }
+        if (dogRequest.ownerId() == null) {
+            return "Owner is required";
+        }
+        if (dogRequest.name() == null || dogRequest.name().length() > MAX_NAME_LENGTH) {
+            return "Name is required and at most " + MAX_NAME_LENGTH + " characters";
+        }
+        if (dogRequest.breed() == null || dogRequest.breed().length() > MAX_BREED_LENGTH) {
+            return "Breed is required and at most " + MAX_BREED_LENGTH + " characters";
+        }
+        if (dogRequest.gender() == null || dogRequest.gender().length() > MAX_GENDER_LENGTH) {
+            return "Gender is required and at most " + MAX_GENDER_LENGTH + " characters";
+        }
+        if (dogRequest.age() != null && dogRequest.age().length() > MAX_AGE_LENGTH) {
+            return "Age is at most " + MAX_AGE_LENGTH + " characters";
+        }
+        // DECIMAL(5,2): Postgres rounds to two places, then rejects anything from 1000 up
+        if (dogRequest.weight() != null
+                && dogRequest.weight().setScale(2, RoundingMode.HALF_UP).abs().compareTo(MAX_WEIGHT) > 0) {
+            return "Weight is out of range";
+        }
+        return null;
+    }
+
+    // The version check at flush only covers this request; If-Match extends it back to the client's read
+    private void checkVersion(DogEntity dogEntity, String ifMatch) {
+        if (ifMatch == null) {
+            log.warn("Update of dog {} without If-Match", dogEntity.getId());
+            throw new HttpStatusException(HttpStatus.PRECONDITION_REQUIRED, "If-Match is required");
+        }
+        if (!DogETag.matches(ifMatch, dogEntity.getVersion())) {
+            log.warn("Update of dog {} with If-Match {}, current is {}", dogEntity.getId(), ifMatch,
+                    DogETag.of(dogEntity.getVersion()));
+            throw new HttpStatusException(HttpStatus.PRECONDITION_FAILED, "Dog was modified");
+        }
+    }
+
+    private static MutableHttpResponse<DogResponse> withETag(MutableHttpResponse<DogResponse> response) {
+        return response.header(HttpHeaders.ETAG, DogETag.of(response.body().version()));
+    }
+
+    private UserEntity resolveOwner(DogEntity dogEntity, UUID ownerId) {
+        if (ownerId == null) {
+            log.warn("Owner ID is missing for dog {}", dogEntity.getId());
+            throw new HttpStatusException(HttpStatus.BAD_REQUEST, "Owner is required");
+        }
+        // Reading the id of the current owner does not initialize the lazy association
+        if (dogEntity.getOwner() != null && ownerId.equals(dogEntity.getOwner().getId())) {
+            return dogEntity.getOwner();
+        }
+        Optional<UserEntity> owner = userDao.findById(ownerId);
+        if (owner.isEmpty()) {
+            notFoundLog.info("Owner with ID {} does not exist", ownerId);
+            throw new HttpStatusException(HttpStatus.NOT_FOUND, "Owner does not exist");
+        }
+        return owner.get();
+    }
+
+    private void applyRequest(DogEntity dogEntity, DogRequest dogRequest, UserEntity owner) {
+        dogEntity.setOwner(owner);
+        dogEntity.setName(dogRequest.name());
+        dogEntity.setBreed(dogRequest.breed());
+        dogEntity.setGender(dogRequest.gender());
+        dogEntity.setWeight(dogRequest.weight());
+        dogEntity.setAge(dogRequest.age());
+        dogEntity.setIsNeutered(dogRequest.isNeutered());
+        dogEntity.setBehavior(dogRequest.behavior());
+        dogEntity.setPedigree(dogRequest.pedigree());
+    }
 }
\ No newline at end of file
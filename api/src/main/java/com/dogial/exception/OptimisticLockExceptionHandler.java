@@ -0,0 +1,24 @@
+package com.dogial.exception;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.server.exceptions.ExceptionHandler;
+import jakarta.inject.Singleton;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+
+@Produces
+@Singleton
+@Slf4j
+@Requires(classes = {OptimisticLockException.class, ExceptionHandler.class})
+public class OptimisticLockExceptionHandler implements ExceptionHandler<OptimisticLockException, HttpResponse<?>> {
+
+    @Override
+    public HttpResponse<?> handle(HttpRequest request, OptimisticLockException exception) {
+        log.warn("Concurrent modification on {} {}", request.getMethod(), request.getPath());
+        return HttpResponse.status(HttpStatus.CONFLICT, "Resource was modified concurrently");
+    }
+}
@@ -0,0 +1,30 @@
+package com.dogial.exception;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.server.exceptions.ExceptionHandler;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.RejectedExecutionException;
+
+// A bounded pool that is full (password hashing, authentication) sheds the request; the client may retry shortly
+@Produces
+@Singleton
+@Slf4j
+@Requires(classes = ExceptionHandler.class)
+public class RejectedExecutionExceptionHandler implements ExceptionHandler<RejectedExecutionException, HttpResponse<?>> {
+
+    static final String RETRY_AFTER_SECONDS = "1";
+
+    @Override
+    public HttpResponse<?> handle(HttpRequest request, RejectedExecutionException exception) {
+        log.warn("Shedding {} {}: worker pool is full", request.getMethod(), request.getPath());
+        return HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE, "Server is busy")
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+    }
+}
@@ -0,0 +1,37 @@
+package com.dogial.executor;
+
+import io.micronaut.context.annotation.Bean;
+import io.micronaut.context.annotation.Factory;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.scheduling.TaskExecutors;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executor for controllers doing blocking JPA work, selected with {@code dogial.executor.mode}:
+ * {@code virtual} (default) runs each request on its own virtual thread, {@code io} uses Micronaut's IO pool.
+ */
+@Factory
+public class BlockingExecutorFactory {
+
+    public static final String BLOCKING = "dogial-blocking";
+    static final String MODE_PROPERTY = "dogial.executor.mode";
+
+    @Singleton
+    @Named(BLOCKING)
+    @Requires(property = MODE_PROPERTY, value = "virtual", defaultValue = "virtual")
+    @Bean(preDestroy = "shutdown")
+    ExecutorService virtualThreadExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("blocking-", 0).factory());
+    }
+
+    @Singleton
+    @Named(BLOCKING)
+    @Requires(property = MODE_PROPERTY, value = "io")
+    ExecutorService ioExecutor(@Named(TaskExecutors.IO) ExecutorService ioExecutor) {
+        return ioExecutor;
+    }
+}
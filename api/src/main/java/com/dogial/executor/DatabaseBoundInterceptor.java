@@ -0,0 +1,78 @@
+package com.dogial.executor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.aop.InterceptorBean;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.exceptions.HttpStatusException;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+// Virtual threads are unbounded; the semaphore keeps them from queueing on Hikari beyond its pool size
+@Singleton
+@Slf4j
+@InterceptorBean(DatabaseBound.class)
+public class DatabaseBoundInterceptor implements MethodInterceptor<Object, Object> {
+
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+
+    public DatabaseBoundInterceptor(@Value("${datasources.default.maximum-pool-size:10}") int poolSize,
+                                    @Value("${dogial.executor.pool-guard.acquire-timeout:5s}") Duration acquireTimeout,
+                                    MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(poolSize);
+        this.acquireTimeout = acquireTimeout;
+        meterRegistry.gauge("dogial.db.guard.available", permits, Semaphore::availablePermits);
+        meterRegistry.gauge("dogial.db.guard.waiting", permits, Semaphore::getQueueLength);
+    }
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            log.warn("No database permit available for {} within {}", context.getMethodName(), acquireTimeout);
+            throw new HttpStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Database is busy");
+        }
+        Object result;
+        try {
+            result = context.proceed();
+        } catch (RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+        // A stream only borrows its connection once subscribed, so it keeps the permit until it terminates
+        if (result instanceof Publisher<?> publisher) {
+            return releaseOnTermination(publisher);
+        }
+        permits.release();
+        return result;
+    }
+
+    private Publisher<?> releaseOnTermination(Publisher<?> publisher) {
+        AtomicBoolean released = new AtomicBoolean();
+        Consumer<SignalType> release = signal -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+        return publisher instanceof Mono<?> mono ? mono.doFinally(release) : Flux.from(publisher).doFinally(release);
+    }
+}
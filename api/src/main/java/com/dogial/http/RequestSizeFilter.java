@@ -0,0 +1,56 @@
+package com.dogial.http;
+
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.convert.format.ReadableBytes;
+import io.micronaut.core.order.Ordered;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.annotation.RequestFilter;
+import io.micronaut.http.annotation.ServerFilter;
+import io.micronaut.http.filter.ServerFilterPhase;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holds every route except the dog import to {@code dogial.max-request-size}. Netty's
+ * {@code micronaut.server.max-request-size} is one server-wide ceiling checked before routing, so it is set to the
+ * import's cap and this filter restores the small default elsewhere, before authentication or body decoding.
+ * A body without a Content-Length cannot be checked up front and is only accepted by the import.
+ */
+@Slf4j
+@ServerFilter(ServerFilter.MATCH_ALL_PATTERN)
+public class RequestSizeFilter implements Ordered {
+
+    static final String IMPORT_PATH = "/v1/dogs/import";
+
+    private final long maxRequestSize;
+
+    public RequestSizeFilter(@Value("${dogial.max-request-size:10MB}") @ReadableBytes long maxRequestSize) {
+        this.maxRequestSize = maxRequestSize;
+    }
+
+    @RequestFilter
+    @Nullable
+    public HttpResponse<?> limitBodySize(HttpRequest<?> request) {
+        if (IMPORT_PATH.equals(request.getPath())) {
+            return null;
+        }
+        long contentLength = request.getContentLength();
+        if (contentLength > maxRequestSize) {
+            log.warn("Rejecting {} {} with a {} byte body", request.getMethod(), request.getPath(), contentLength);
+            return HttpResponse.status(HttpStatus.REQUEST_ENTITY_TOO_LARGE);
+        }
+        if (contentLength < 0 && request.getHeaders().contains(HttpHeaders.TRANSFER_ENCODING)) {
+            log.warn("Rejecting {} {} without a Content-Length", request.getMethod(), request.getPath());
+            return HttpResponse.status(HttpStatus.LENGTH_REQUIRED);
+        }
+        return null;
+    }
+
+    @Override
+    public int getOrder() {
+        return ServerFilterPhase.FIRST.order();
+    }
+}
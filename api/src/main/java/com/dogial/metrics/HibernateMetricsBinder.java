@@ -0,0 +1,29 @@
+package com.dogial.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.inject.Singleton;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateMetrics;
+
+// Exports Hibernate statistics (queries, entity loads, second-level cache hits); needs hibernate.generate_statistics
+@Singleton
+public class HibernateMetricsBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+
+    public HibernateMetricsBinder(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener
+    public void onStartup(StartupEvent event) {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        new HibernateMetrics(sessionFactory, "default", Tags.empty()).bindTo(meterRegistry);
+    }
+}
@@ -0,0 +1,26 @@
+package com.dogial.metrics;
+
+import io.micronaut.aop.Around;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Times every invocation of the annotated methods under the given metric name, tagged with class and method,
+ * and counts {@link io.micronaut.http.exceptions.HttpStatusException}s under {@code <name>.errors} by status.
+ * A method returning a {@link org.reactivestreams.Publisher} is timed until the stream terminates.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Around
+public @interface Measured {
+
+    /**
+     * @return the timer name, e.g. {@code dogial.dao}
+     */
+    String value();
+}
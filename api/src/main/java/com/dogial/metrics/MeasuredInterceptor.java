@@ -0,0 +1,101 @@
+package com.dogial.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.aop.InterceptorBean;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.http.exceptions.HttpStatusException;
+import jakarta.inject.Singleton;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+@Singleton
+@InterceptorBean(Measured.class)
+public class MeasuredInterceptor implements MethodInterceptor<Object, Object> {
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    // Meters are looked up per call, so keep them instead of going through the registry each time
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    public MeasuredInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        String name = context.stringValue(Measured.class).orElseThrow();
+        String className = context.getDeclaringType().getSimpleName();
+        String methodName = context.getMethodName();
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = context.proceed();
+        } catch (RuntimeException e) {
+            countError(name, className, methodName, e);
+            record(name, className, methodName, e.getClass().getSimpleName(), start);
+            throw e;
+        }
+        // A stream does its work after it is returned, so it is timed until it terminates
+        if (result instanceof Publisher<?> publisher) {
+            return recordOnTermination(publisher, name, className, methodName, start);
+        }
+        record(name, className, methodName, NONE, start);
+        return result;
+    }
+
+    private Publisher<?> recordOnTermination(Publisher<?> publisher, String name, String className,
+                                             String methodName, long start) {
+        AtomicReference<String> exception = new AtomicReference<>(NONE);
+        Consumer<Throwable> onError = e -> {
+            exception.set(e.getClass().getSimpleName());
+            countError(name, className, methodName, e);
+        };
+        Consumer<SignalType> onTermination = signal -> record(name, className, methodName, exception.get(), start);
+        return publisher instanceof Mono<?> mono
+                ? mono.doOnError(onError).doFinally(onTermination)
+                : Flux.from(publisher).doOnError(onError).doFinally(onTermination);
+    }
+
+    private void countError(String name, String className, String methodName, Throwable e) {
+        if (e instanceof HttpStatusException statusException) {
+            errorCounter(name, className, methodName, statusException.getStatus().getCode()).increment();
+        }
+    }
+
+    private void record(String name, String className, String methodName, String exception, long start) {
+        timer(name, className, methodName, exception).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String name, String className, String methodName, String exception) {
+        return timers.computeIfAbsent(name + '|' + className + '|' + methodName + '|' + exception,
+                key -> Timer.builder(name)
+                        .tag("class", className)
+                        .tag("method", methodName)
+                        .tag("exception", exception)
+                        .publishPercentileHistogram()
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(meterRegistry));
+    }
+
+    private Counter errorCounter(String name, String className, String methodName, int status) {
+        return errorCounters.computeIfAbsent(name + '|' + className + '|' + methodName + '|' + status,
+                key -> Counter.builder(name + ".errors")
+                        .tag("class", className)
+                        .tag("method", methodName)
+                        .tag("status", Integer.toString(status))
+                        .register(meterRegistry));
+    }
+}
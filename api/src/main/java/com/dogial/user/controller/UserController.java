@@ -1,22 +1,44 @@
 package com.dogial.user.controller;
 
+import com.dogial.authentication.service.UserRoles;
+import com.dogial.executor.BlockingExecutorFactory;
+import com.dogial.executor.DatabaseBound;
+import com.dogial.metrics.Measured;
+import com.dogial.user.controller.model.SignupStatsResponse;
 import com.dogial.user.controller.model.UserRequest;
 import com.dogial.user.controller.model.UserResponse;
+import com.dogial.user.service.SignupStatsService;
+import com.dogial.user.service.UserExportService;
 import com.dogial.user.service.UserService;
+import com.dogial.utils.NdjsonEncoder;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.annotation.*;
+import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.security.annotation.Secured;
 import io.micronaut.security.rules.SecurityRule;
+import org.reactivestreams.Publisher;
 
+import java.time.Instant;
 import java.util.UUID;
 
+// Guarded per method: sign-up and update wait on the bounded hashing pool with no connection held, so they must
+// not sit on a database permit meanwhile; their lookups and writes are single-statement transactions
+@ExecuteOn(BlockingExecutorFactory.BLOCKING)
 @Controller("/v1/users")
+@Measured("dogial.controller")
 public class UserController {
 
     private final UserService userService;
+    private final SignupStatsService signupStatsService;
+    private final UserExportService userExportService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService,
+                          SignupStatsService signupStatsService,
+                          UserExportService userExportService) {
         this.userService = userService;
+        this.signupStatsService = signupStatsService;
+        this.userExportService = userExportService;
     }
 
     @Secured(SecurityRule.IS_ANONYMOUS)
@@ -32,15 +54,35 @@ public class UserController {
         return userService.updateUser(id, userRequest);
     }
 
+    @DatabaseBound
     @Secured(SecurityRule.IS_AUTHENTICATED)
     @Delete("/{id}")
     public HttpResponse<Void> deleteUser(@PathVariable UUID id) {
         return userService.deleteUser(id);
     }
 
+    @DatabaseBound
     @Secured(SecurityRule.IS_AUTHENTICATED)
     @Get("/{id}")
-    public HttpResponse<UserResponse> getUser(@PathVariable UUID id) {
-        return userService.getUser(id);
+    public HttpResponse<UserResponse> getUser(@PathVariable UUID id, @Nullable @QueryValue String include) {
+        return userService.getUser(id, include);
+    }
+
+    @DatabaseBound
+    @Secured(SecurityRule.IS_AUTHENTICATED)
+    @Get("/stats/signups")
+    public HttpResponse<SignupStatsResponse> getSignupStats(@QueryValue Instant from,
+                                                            @QueryValue Instant to,
+                                                            @Nullable @QueryValue String bucket) {
+        return signupStatsService.getSignupStats(from, to, bucket);
+    }
+
+    // Streams every user created in [from, to) as NDJSON, in no particular order; memory stays flat however wide
+    // the range is. Only emails listed in dogial.security.admin-emails get the admin role.
+    @DatabaseBound
+    @Secured(UserRoles.ADMIN)
+    @Get(value = "/export", produces = NdjsonEncoder.MEDIA_TYPE)
+    public Publisher<byte[]> exportUsers(@QueryValue Instant from, @QueryValue Instant to) {
+        return userExportService.exportUsers(from, to);
     }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.dogial.user.controller.model;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.time.Instant;
+
+@Serdeable
+public record SignupCountResponse(
+        Instant start,
+        long count)
+{}
@@ -0,0 +1,15 @@
+package com.dogial.user.controller.model;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.time.Instant;
+import java.util.List;
+
+@Serdeable
+public record SignupStatsResponse(
+        String bucket,
+        Instant from,
+        Instant to,
+        long total,
+        List<SignupCountResponse> buckets)
+{}
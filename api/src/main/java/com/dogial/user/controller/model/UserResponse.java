@@ -1,12 +1,17 @@
 package com.dogial.user.controller.model;
 
+import com.dogial.dog.controller.model.DogResponse;
+import io.micronaut.core.annotation.Nullable;
 import io.micronaut.serde.annotation.Serdeable;
 
+import java.util.List;
 import java.util.UUID;
 
 @Serdeable
 public record UserResponse(
         UUID id,
         String email,
-        String passwordHash)
+        String passwordHash,
+        @Nullable List<DogResponse> dogs,
+        @Nullable String dogsNextCursor)
 {}
@@ -0,0 +1,13 @@
+package com.dogial.user.controller.model;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Serdeable
+public record UserSummaryResponse(
+        UUID id,
+        String email,
+        Instant createdAt)
+{}
@@ -2,15 +2,24 @@ package com.dogial.user.mapper;
 
 import com.dogial.user.controller.model.UserRequest;
 import com.dogial.user.controller.model.UserResponse;
+import com.dogial.user.controller.model.UserSummaryResponse;
 import com.dogial.user.persistence.entities.UserEntity;
+import io.micronaut.core.annotation.TypeHint;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
+// Mappers.getMapper instantiates the generated implementation reflectively
 @Mapper
+@TypeHint(typeNames = "com.dogial.user.mapper.UserMapperImpl", accessType = TypeHint.AccessType.ALL_DECLARED_CONSTRUCTORS)
 public interface UserMapper {
     UserMapper INSTANCE = Mappers.getMapper(UserMapper.class);
 
     UserEntity toEntity(UserRequest userRequest);
 
+    @Mapping(target = "dogs", ignore = true)
+    @Mapping(target = "dogsNextCursor", ignore = true)
     UserResponse toResponse(UserEntity userEntity);
+
+    UserSummaryResponse toSummaryResponse(UserEntity userEntity);
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.dogial.user.persistence.dao;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Optional;
+
+/**
+ * Granularity of {@link UserDao#countSignups}. Buckets are aligned in UTC the same way Postgres
+ * {@code date_trunc} aligns them: weeks start on Monday, months on the first day.
+ */
+public enum SignupBucket {
+    DAY("day"),
+    WEEK("week"),
+    MONTH("month");
+
+    private final String unit;
+
+    SignupBucket(String unit) {
+        this.unit = unit;
+    }
+
+    public String unit() {
+        return unit;
+    }
+
+    public Instant truncate(Instant instant) {
+        LocalDate date = LocalDate.ofInstant(instant, ZoneOffset.UTC);
+        LocalDate start = switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+        return start.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    public Instant next(Instant bucketStart) {
+        LocalDate date = LocalDate.ofInstant(bucketStart, ZoneOffset.UTC);
+        LocalDate next = switch (this) {
+            case DAY -> date.plusDays(1);
+            case WEEK -> date.plusWeeks(1);
+            case MONTH -> date.plusMonths(1);
+        };
+        return next.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    public static Optional<SignupBucket> fromUnit(String unit) {
+        for (SignupBucket bucket : values()) {
+            if (bucket.unit.equals(unit)) {
+                return Optional.of(bucket);
+            }
+        }
+        return Optional.empty();
+    }
+}
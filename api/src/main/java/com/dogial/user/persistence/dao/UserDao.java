@@ -1,43 +1,86 @@
 package com.dogial.user.persistence.dao;
 
+import com.dogial.dog.persistence.entities.DogEntity;
+import com.dogial.executor.BlockingExecutorFactory;
+import com.dogial.metrics.Measured;
 import com.dogial.user.persistence.entities.UserEntity;
+import com.dogial.user.persistence.projections.UserCredentials;
+import com.dogial.user.persistence.projections.UserWithDogs;
+import com.dogial.utils.StatelessScroll;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Query;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Singleton
 @Slf4j
+@Measured("dogial.dao")
 public class UserDao {
 
+    static final int STREAM_FETCH_SIZE = 5000;
+
     private final EntityManager entityManager;
+    private final SessionFactory sessionFactory;
+    private final Scheduler blockingScheduler;
 
     @Inject
-    public UserDao(EntityManager entityManager) {
+    public UserDao(EntityManager entityManager,
+                   EntityManagerFactory entityManagerFactory,
+                   @Named(BlockingExecutorFactory.BLOCKING) ExecutorService blockingExecutor) {
         this.entityManager = entityManager;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.blockingScheduler = Schedulers.fromExecutorService(blockingExecutor);
     }
 
     @Transactional
     public Optional<UserEntity> findByEmail(String email) {
-        final Query query = entityManager.createQuery(
-                        "SELECT u FROM UserEntity u WHERE u.email = :email", UserEntity.class)
-                .setParameter("email", email);
-        return query.getResultList().stream().findFirst();
+        return entityManager.createNamedQuery(UserEntity.FIND_BY_EMAIL, UserEntity.class)
+                .setParameter("email", normalizeEmail(email))
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst();
+    }
+
+    @Transactional
+    public Optional<UserCredentials> findCredentialsByEmail(String email) {
+        return entityManager.createNamedQuery(UserEntity.FIND_CREDENTIALS_BY_EMAIL, UserCredentials.class)
+                .setParameter("email", normalizeEmail(email))
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst();
     }
 
     @Transactional
     public boolean existsByEmail(String email) {
-        final Query query = entityManager.createQuery(
-                        "SELECT COUNT(u) FROM UserEntity u WHERE u.email = :email")
-                .setParameter("email", email);
-        return ((Long) query.getSingleResult()) > 0;
+        // LIMIT 1 stops at the first index entry instead of counting every match
+        return !entityManager.createNamedQuery(UserEntity.FIND_ID_BY_EMAIL, UUID.class)
+                .setParameter("email", normalizeEmail(email))
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
     }
 
     @Transactional
@@ -50,23 +93,58 @@ public class UserDao {
         return query.getResultList().stream().findFirst();
     }
 
+    // One grouped scan over the created_at BRIN index; buckets without sign-ups are absent from the result.
+    // Native SQL skips the entity's restriction, so deleted users are excluded here; deleting one evicts the
+    // cached buckets it was counted in.
     @Transactional
-    public long countByCreatedAtBetween(Instant startDate, Instant endDate) {
-        final Query query = entityManager.createQuery(
-                        "SELECT COUNT(u) FROM UserEntity u WHERE u.createdAt BETWEEN :startDate AND :endDate")
-                .setParameter("startDate", startDate)
-                .setParameter("endDate", endDate);
-        return (Long) query.getSingleResult();
+    @SuppressWarnings("unchecked")
+    public Map<Instant, Long> countSignups(SignupBucket bucket, Instant from, Instant to) {
+        List<Object[]> rows = entityManager.createNativeQuery(
+                        "SELECT date_trunc(:unit, u.created_at, 'UTC') AS bucket_start, count(*) AS signups FROM users u "
+                                + "WHERE u.created_at >= :from AND u.created_at < :to AND u.deleted_at IS NULL "
+                                + "GROUP BY 1 ORDER BY 1")
+                .setParameter("unit", bucket.unit())
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .unwrap(NativeQuery.class)
+                .addScalar("bucket_start", StandardBasicTypes.INSTANT)
+                .addScalar("signups", StandardBasicTypes.LONG)
+                .getResultList();
+        Map<Instant, Long> counts = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            counts.put((Instant) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    // Read from a server-side cursor in a stateless session, so no persistence context grows with the range.
+    // No ORDER BY, so the database never sorts the range; rows come back in no particular order.
+    public Flux<UserEntity> streamByCreatedAtBetween(Instant from, Instant to) {
+        return StatelessScroll.stream(sessionFactory, STREAM_FETCH_SIZE, session -> session.createSelectionQuery(
+                                "FROM UserEntity u WHERE u.createdAt >= :from AND u.createdAt < :to", UserEntity.class)
+                        .setParameter("from", from)
+                        .setParameter("to", to))
+                .subscribeOn(blockingScheduler);
     }
 
+    // The unique lower(email) index over live users decides, so concurrent sign-ups for one email in any case
+    // cannot both succeed or hit an exception, while a soft-deleted user's email can be registered again
     @Transactional
-    public List<UserEntity> findByCreatedAtBetween(Instant startDate, Instant endDate) {
-        final Query query = entityManager.createQuery(
-                        "SELECT u FROM UserEntity u WHERE u.createdAt BETWEEN :startDate AND :endDate",
-                        UserEntity.class)
-                .setParameter("startDate", startDate)
-                .setParameter("endDate", endDate);
-        return query.getResultList();
+    public Optional<UUID> insertIfAbsent(String email, String passwordHash) {
+        List<?> inserted = entityManager.createNativeQuery(
+                        "INSERT INTO users (email, password_hash) VALUES (:email, :passwordHash) "
+                                + "ON CONFLICT ((lower(email))) WHERE deleted_at IS NULL DO NOTHING RETURNING id",
+                        UUID.class)
+                .setParameter("email", normalizeEmail(email))
+                .setParameter("passwordHash", passwordHash)
+                .getResultList();
+        return inserted.stream().map(UUID.class::cast).findFirst();
+    }
+
+    public Flux<String> streamEmails() {
+        return StatelessScroll.stream(sessionFactory, STREAM_FETCH_SIZE,
+                        session -> session.createSelectionQuery("SELECT lower(u.email) FROM UserEntity u", String.class))
+                .subscribeOn(blockingScheduler);
     }
 
     @Transactional
@@ -75,16 +153,74 @@ public class UserDao {
         return entity;
     }
 
+    // 0 means no such (live) user. RETURNING is read as a result list so Hibernate does not evict the whole
+    // users region the way a bulk update would; only this user's entry is evicted.
     @Transactional
-    public UserEntity update(UserEntity entity) {
-        return entityManager.merge(entity);
+    public int markDeleted(UUID id) {
+        int updated = entityManager.createNativeQuery(
+                        "UPDATE users SET deleted_at = now() WHERE id = :id AND deleted_at IS NULL RETURNING id", UUID.class)
+                .setParameter("id", id)
+                .getResultList()
+                .size();
+        sessionFactory.getCache().evictEntityData(UserEntity.class, id);
+        return updated;
     }
 
+    // Native: soft-deleted users are hidden from JPQL by the entity's SQL restriction
     @Transactional
-    public void delete(UserEntity entity) {
-        entityManager.remove(entity);
-        entityManager.flush();
-        entityManager.clear();
+    @SuppressWarnings("unchecked")
+    public List<UUID> findPendingPurge(int limit) {
+        return entityManager.createNativeQuery(
+                        "SELECT id FROM users WHERE deleted_at IS NOT NULL ORDER BY deleted_at LIMIT :limit", UUID.class)
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+
+    @Transactional
+    public long countPendingPurge() {
+        return ((Number) entityManager.createNativeQuery("SELECT count(*) FROM users WHERE deleted_at IS NOT NULL")
+                .getSingleResult()).longValue();
+    }
+
+    // Removes the row once its dogs are gone; returns 0 while dogs remain or if another instance got there first.
+    // The entry left the second-level cache when the user was marked deleted.
+    @Transactional
+    public int purge(UUID id) {
+        return entityManager.createNativeQuery(
+                        "DELETE FROM users u WHERE u.id = :id AND u.deleted_at IS NOT NULL "
+                                + "AND NOT EXISTS (SELECT 1 FROM dogs d WHERE d.owner_id = u.id) RETURNING u.id", UUID.class)
+                .setParameter("id", id)
+                .getResultList()
+                .size();
+    }
+
+    // The caller hashes before this short transaction opens; like markDeleted, only this user is evicted
+    @Transactional
+    public int updateCredentials(UUID id, String email, String passwordHash) {
+        int updated = entityManager.createNativeQuery(
+                        "UPDATE users SET email = :email, password_hash = :passwordHash, updated_at = now() "
+                                + "WHERE id = :id AND deleted_at IS NULL RETURNING id", UUID.class)
+                .setParameter("email", normalizeEmail(email))
+                .setParameter("passwordHash", passwordHash)
+                .setParameter("id", id)
+                .getResultList()
+                .size();
+        sessionFactory.getCache().evictEntityData(UserEntity.class, id);
+        return updated;
+    }
+
+    // Runs on every rehash-on-login, so like markDeleted it only evicts this user, not the whole users region
+    @Transactional
+    public int updatePasswordHash(UUID id, String passwordHash) {
+        int updated = entityManager.createNativeQuery(
+                        "UPDATE users SET password_hash = :passwordHash, updated_at = now() "
+                                + "WHERE id = :id AND deleted_at IS NULL RETURNING id", UUID.class)
+                .setParameter("passwordHash", passwordHash)
+                .setParameter("id", id)
+                .getResultList()
+                .size();
+        sessionFactory.getCache().evictEntityData(UserEntity.class, id);
+        return updated;
     }
 
     @Transactional
@@ -92,11 +228,47 @@ public class UserDao {
         return Optional.ofNullable(entityManager.find(UserEntity.class, id));
     }
 
+    // One statement for the user and up to dogLimit dogs: a plain (non-fetch) join lets LIMIT apply in SQL
+    @Transactional
+    public Optional<UserWithDogs> findWithDogs(UUID id, int dogLimit) {
+        List<Object[]> rows = entityManager.createQuery(
+                        "SELECT u, d FROM UserEntity u LEFT JOIN u.dogs d WHERE u.id = :id ORDER BY d.createdAt, d.id",
+                        Object[].class)
+                .setParameter("id", id)
+                .setMaxResults(dogLimit)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        List<DogEntity> dogs = rows.stream()
+                .map(row -> (DogEntity) row[1])
+                .filter(Objects::nonNull)
+                .toList();
+        return Optional.of(new UserWithDogs((UserEntity) rows.get(0)[0], dogs));
+    }
+
+    @Transactional
+    public Map<UUID, UserEntity> findAllByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return entityManager.createQuery("SELECT u FROM UserEntity u WHERE u.id IN :ids", UserEntity.class)
+                .setParameter("ids", ids)
+                .getResultList()
+                .stream()
+                .collect(Collectors.toMap(UserEntity::getId, Function.identity()));
+    }
+
     @Transactional
     public boolean existsById(UUID id) {
-        final Query query = entityManager.createQuery(
-                        "SELECT COUNT(u) FROM UserEntity u WHERE u.id = :id")
-                .setParameter("id", id);
-        return ((Long) query.getSingleResult()) > 0;
+        return !entityManager.createNamedQuery(UserEntity.FIND_ID_BY_ID, UUID.class)
+                .setParameter("id", id)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.toLowerCase(Locale.ROOT);
     }
 }
\ No newline at end of file
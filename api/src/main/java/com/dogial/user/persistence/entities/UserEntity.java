@@ -1,9 +1,14 @@
 package com.dogial.user.persistence.entities;
 
 import com.dogial.dog.persistence.entities.DogEntity;
+import com.dogial.utils.GeneratedUuidV7;
 import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.annotation.ReflectiveAccess;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.Instant;
 import java.util.Set;
@@ -15,16 +20,39 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 @Introspected
+@ReflectiveAccess
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = UserEntity.CACHE_REGION)
 @Table(name = "users")
+// Soft-deleted users stay invisible to every entity load and JPQL query until UserPurger removes them
+@SQLRestriction("deleted_at IS NULL")
+@NamedQuery(name = UserEntity.FIND_BY_EMAIL,
+        query = "SELECT u FROM UserEntity u WHERE lower(u.email) = :email")
+@NamedQuery(name = UserEntity.FIND_CREDENTIALS_BY_EMAIL,
+        query = "SELECT new com.dogial.user.persistence.projections.UserCredentials(u.id, u.passwordHash) "
+                + "FROM UserEntity u WHERE lower(u.email) = :email")
+@NamedQuery(name = UserEntity.FIND_ID_BY_EMAIL,
+        query = "SELECT u.id FROM UserEntity u WHERE lower(u.email) = :email")
+@NamedQuery(name = UserEntity.FIND_ID_BY_ID,
+        query = "SELECT u.id FROM UserEntity u WHERE u.id = :id")
 public class UserEntity {
 
+    public static final String FIND_BY_EMAIL = "UserEntity.findByEmail";
+    public static final String FIND_CREDENTIALS_BY_EMAIL = "UserEntity.findCredentialsByEmail";
+    public static final String FIND_ID_BY_EMAIL = "UserEntity.findIdByEmail";
+    public static final String FIND_ID_BY_ID = "UserEntity.findIdById";
+    public static final String CACHE_REGION = "dogial.users";
+    public static final String DOGS_CACHE_REGION = "dogial.users.dogs";
+    public static final String DOGS_ROLE = UserEntity.class.getName() + ".dogs";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedUuidV7
     @Column(name = "id", columnDefinition = "uuid")
     private UUID id;
 
-    @Column(name = "email", nullable = false, unique = true)
+    // Unique among live users only, case-insensitively; see V9
+    @Column(name = "email", nullable = false)
     private String email;
 
     @Column(name = "password_hash", nullable = false)
@@ -36,7 +64,11 @@ public class UserEntity {
     @Column(name = "updated_at")
     private Instant updatedAt;
 
+    @Column(name = "deleted_at")
+    private Instant deletedAt;
+
     @OneToMany(mappedBy = "owner", cascade = CascadeType.ALL)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = UserEntity.DOGS_CACHE_REGION)
     @ToString.Exclude
     private Set<DogEntity> dogs;
 
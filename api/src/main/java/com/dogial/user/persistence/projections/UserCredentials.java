@@ -0,0 +1,12 @@
+package com.dogial.user.persistence.projections;
+
+import io.micronaut.core.annotation.ReflectiveAccess;
+
+import java.util.UUID;
+
+// Built by Hibernate through the constructor in a JPQL "SELECT new" expression
+@ReflectiveAccess
+public record UserCredentials(
+        UUID id,
+        String passwordHash)
+{}
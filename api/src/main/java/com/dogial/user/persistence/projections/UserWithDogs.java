@@ -0,0 +1,11 @@
+package com.dogial.user.persistence.projections;
+
+import com.dogial.dog.persistence.entities.DogEntity;
+import com.dogial.user.persistence.entities.UserEntity;
+
+import java.util.List;
+
+public record UserWithDogs(
+        UserEntity user,
+        List<DogEntity> dogs)
+{}
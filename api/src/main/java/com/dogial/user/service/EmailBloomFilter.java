@@ -0,0 +1,109 @@
+package com.dogial.user.service;
+
+import com.dogial.user.persistence.dao.UserDao;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter of registered (normalized) emails. A negative answer means the email is certainly new
+ * on this instance's view, so sign-up can skip the duplicate lookup; a positive answer still has to be confirmed.
+ * Emails of deleted users stay in the filter, which only costs their re-registration that confirming lookup.
+ * Until the startup warm-up has loaded every existing email, the filter answers "maybe" for everything.
+ */
+@Singleton
+@Slf4j
+public class EmailBloomFilter {
+
+    private final UserDao userDao;
+    private final boolean warmOnStartup;
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private volatile boolean ready;
+
+    public EmailBloomFilter(UserDao userDao,
+                            @Value("${dogial.email-bloom.expected-insertions:1000000}") long expectedInsertions,
+                            @Value("${dogial.email-bloom.false-positive-rate:0.01}") double falsePositiveRate,
+                            @Value("${dogial.email-bloom.warm-on-startup:true}") boolean warmOnStartup) {
+        this.userDao = userDao;
+        this.warmOnStartup = warmOnStartup;
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray((int) Math.max(1, (optimalBits + 63) / 64));
+        this.bitCount = bits.length() * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    @EventListener
+    public void onStartup(StartupEvent event) {
+        if (!warmOnStartup) {
+            return;
+        }
+        long started = System.nanoTime();
+        userDao.streamEmails().subscribe(
+                this::put,
+                e -> log.warn("Email filter warm-up failed; duplicate checks stay on for every sign-up", e),
+                () -> {
+                    ready = true;
+                    log.info("Email filter warmed in {} ms", (System.nanoTime() - started) / 1_000_000);
+                });
+    }
+
+    public void put(String normalizedEmail) {
+        long hash = hash64(normalizedEmail);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(index);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(index, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String normalizedEmail) {
+        if (!ready) {
+            return true;
+        }
+        long hash = hash64(normalizedEmail);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void markReady() {
+        ready = true;
+    }
+
+    // FNV-1a followed by the MurmurHash3 finalizer so both 32-bit halves are well mixed
+    private static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,120 @@
+package com.dogial.user.service;
+
+import com.dogial.metrics.Measured;
+import com.dogial.user.controller.model.SignupCountResponse;
+import com.dogial.user.controller.model.SignupStatsResponse;
+import com.dogial.user.persistence.dao.SignupBucket;
+import com.dogial.user.persistence.dao.UserDao;
+import io.micronaut.cache.SyncCache;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.exceptions.HttpStatusException;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Sign-up counts per day, week or month, of users that are not deleted. The requested range is widened to whole
+ * buckets; buckets that have already closed are cached individually, so repeated dashboard calls only query the
+ * still-open bucket. Deleting a user is the only thing that changes a closed bucket, and it calls {@link #evict}.
+ */
+@Singleton
+@Slf4j
+@Measured("dogial.service")
+public class SignupStatsService {
+
+    static final String DEFAULT_BUCKET = "day";
+    static final int MAX_BUCKETS = 1000;
+
+    private final UserDao userDao;
+    private final SyncCache<?> signupStatsCache;
+
+    public SignupStatsService(UserDao userDao, @Named("signup-stats") SyncCache<?> signupStatsCache) {
+        this.userDao = userDao;
+        this.signupStatsCache = signupStatsCache;
+    }
+
+    // SUPPORTS keeps a fully cached range from borrowing a connection
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public HttpResponse<SignupStatsResponse> getSignupStats(Instant from, Instant to, String bucketUnit) {
+        SignupBucket bucket = SignupBucket.fromUnit(bucketUnit == null ? DEFAULT_BUCKET : bucketUnit)
+                .orElseThrow(() -> {
+                    log.warn("Unsupported sign-up bucket {}", bucketUnit);
+                    return new HttpStatusException(HttpStatus.BAD_REQUEST, "Unsupported bucket");
+                });
+        if (from == null || to == null || !from.isBefore(to)) {
+            log.warn("Invalid sign-up range {} - {}", from, to);
+            throw new HttpStatusException(HttpStatus.BAD_REQUEST, "Invalid date range");
+        }
+
+        List<Instant> starts = new ArrayList<>();
+        for (Instant start = bucket.truncate(from); start.isBefore(to); start = bucket.next(start)) {
+            if (starts.size() == MAX_BUCKETS) {
+                log.warn("Sign-up range {} - {} exceeds {} {} buckets", from, to, MAX_BUCKETS, bucket.unit());
+                throw new HttpStatusException(HttpStatus.BAD_REQUEST, "Too many buckets");
+            }
+            starts.add(start);
+        }
+
+        // Closed buckets come from the cache; the query covers the span from the first miss to the last miss
+        Instant openBucket = bucket.truncate(Instant.now());
+        Long[] counts = new Long[starts.size()];
+        int firstMiss = -1;
+        int lastMiss = -1;
+        for (int i = 0; i < starts.size(); i++) {
+            Instant start = starts.get(i);
+            Optional<Long> cached = start.isBefore(openBucket)
+                    ? signupStatsCache.get(cacheKey(bucket, start), Long.class)
+                    : Optional.empty();
+            if (cached.isPresent()) {
+                counts[i] = cached.get();
+            } else {
+                firstMiss = firstMiss < 0 ? i : firstMiss;
+                lastMiss = i;
+            }
+        }
+        if (firstMiss >= 0) {
+            Map<Instant, Long> fresh = userDao.countSignups(bucket, starts.get(firstMiss),
+                    bucket.next(starts.get(lastMiss)));
+            for (int i = firstMiss; i <= lastMiss; i++) {
+                Instant start = starts.get(i);
+                counts[i] = fresh.getOrDefault(start, 0L);
+                if (start.isBefore(openBucket)) {
+                    signupStatsCache.put(cacheKey(bucket, start), counts[i]);
+                }
+            }
+        }
+
+        List<SignupCountResponse> buckets = new ArrayList<>(starts.size());
+        long total = 0;
+        for (int i = 0; i < starts.size(); i++) {
+            buckets.add(new SignupCountResponse(starts.get(i), counts[i]));
+            total += counts[i];
+        }
+        Instant end = bucket.next(starts.get(starts.size() - 1));
+        return HttpResponse.ok(new SignupStatsResponse(bucket.unit(), starts.get(0), end, total, buckets));
+    }
+
+    /**
+     * Drops the cached day, week and month buckets a user created at {@code createdAt} was counted in.
+     */
+    public void evict(Instant createdAt) {
+        if (createdAt == null) {
+            return;
+        }
+        for (SignupBucket bucket : SignupBucket.values()) {
+            signupStatsCache.invalidate(cacheKey(bucket, bucket.truncate(createdAt)));
+        }
+    }
+
+    private static String cacheKey(SignupBucket bucket, Instant start) {
+        return bucket.unit() + ':' + start;
+    }
+}
@@ -0,0 +1,38 @@
+package com.dogial.user.service;
+
+import com.dogial.metrics.Measured;
+import com.dogial.user.mapper.UserMapper;
+import com.dogial.user.persistence.dao.UserDao;
+import com.dogial.utils.NdjsonEncoder;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.exceptions.HttpStatusException;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+
+import java.time.Instant;
+
+// Not @Transactional: the export is a lazy stream that manages its own cursor and connection
+@Singleton
+@Slf4j
+@Measured("dogial.service")
+public class UserExportService {
+
+    private final UserDao userDao;
+    private final UserMapper userMapper;
+    private final NdjsonEncoder ndjsonEncoder;
+
+    public UserExportService(UserDao userDao, NdjsonEncoder ndjsonEncoder) {
+        this.userDao = userDao;
+        this.userMapper = UserMapper.INSTANCE;
+        this.ndjsonEncoder = ndjsonEncoder;
+    }
+
+    public Publisher<byte[]> exportUsers(Instant from, Instant to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            log.warn("Invalid user export range {} - {}", from, to);
+            throw new HttpStatusException(HttpStatus.BAD_REQUEST, "Invalid date range");
+        }
+        return ndjsonEncoder.encode(userDao.streamByCreatedAtBetween(from, to).map(userMapper::toSummaryResponse));
+    }
+}
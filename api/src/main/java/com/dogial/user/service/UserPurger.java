@@ -0,0 +1,88 @@
+package com.dogial.user.service;
+
+import com.dogial.dog.persistence.dao.DogDao;
+import com.dogial.user.persistence.dao.UserDao;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.cache.SyncCache;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Finishes user deletions in the background. Each run takes the oldest soft-deleted users, removes their dogs in
+ * batches of {@code dogial.user-purge.batch-size} (one short transaction per batch, so no lock is held for long),
+ * then removes the user row. Work is idempotent, so a crashed run or a second instance simply picks up the rest.
+ */
+@Singleton
+@Slf4j
+@Requires(property = "dogial.user-purge.enabled", notEquals = StringUtils.FALSE)
+public class UserPurger {
+
+    private final UserDao userDao;
+    private final DogDao dogDao;
+    private final SyncCache<?> dogCache;
+    private final int batchSize;
+    private final int usersPerRun;
+    private final AtomicLong backlog = new AtomicLong();
+    private final Counter purgedUsers;
+    private final Counter purgedDogs;
+
+    public UserPurger(UserDao userDao,
+                      DogDao dogDao,
+                      @Named("dogs") SyncCache<?> dogCache,
+                      @Value("${dogial.user-purge.batch-size:1000}") int batchSize,
+                      @Value("${dogial.user-purge.users-per-run:50}") int usersPerRun,
+                      MeterRegistry meterRegistry) {
+        this.userDao = userDao;
+        this.dogDao = dogDao;
+        this.dogCache = dogCache;
+        this.batchSize = batchSize;
+        this.usersPerRun = usersPerRun;
+        Gauge.builder("dogial.users.purge.backlog", backlog, AtomicLong::get)
+                .description("Soft-deleted users whose dogs and row are not yet removed")
+                .register(meterRegistry);
+        this.purgedUsers = Counter.builder("dogial.users.purge.users").register(meterRegistry);
+        this.purgedDogs = Counter.builder("dogial.users.purge.dogs").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelay = "${dogial.user-purge.interval:10s}", initialDelay = "${dogial.user-purge.interval:10s}")
+    public void purge() {
+        try {
+            List<UUID> pending = userDao.findPendingPurge(usersPerRun);
+            for (UUID userId : pending) {
+                purgeUser(userId);
+            }
+            backlog.set(userDao.countPendingPurge());
+        } catch (RuntimeException e) {
+            // The next run resumes from whatever is left
+            log.warn("User purge run failed", e);
+        }
+    }
+
+    private void purgeUser(UUID userId) {
+        long dogs = 0;
+        Set<UUID> deleted;
+        do {
+            deleted = dogDao.deleteBatchByOwner(userId, batchSize);
+            // Each batch has committed; only its dogs leave the response cache, the rest of it stays warm
+            deleted.forEach(dogCache::invalidate);
+            dogs += deleted.size();
+            purgedDogs.increment(deleted.size());
+        } while (deleted.size() == batchSize);
+        if (userDao.purge(userId) > 0) {
+            purgedUsers.increment();
+            log.info("Purged user {} and {} dogs", userId, dogs);
+        }
+    }
+}
@@ -1,91 +1,199 @@
 package com.dogial.user.service;
 
 import com.dogial.authentication.service.PasswordEncoder;
+import com.dogial.dog.controller.model.DogResponse;
+import com.dogial.dog.mapper.DogMapper;
+import com.dogial.dog.persistence.entities.DogEntity;
+import com.dogial.dog.service.DogCursor;
+import com.dogial.metrics.Measured;
 import com.dogial.user.controller.model.UserRequest;
 import com.dogial.user.controller.model.UserResponse;
 import com.dogial.user.mapper.UserMapper;
 import com.dogial.user.persistence.dao.UserDao;
 import com.dogial.user.persistence.entities.UserEntity;
+import com.dogial.user.persistence.projections.UserWithDogs;
+import com.dogial.utils.AfterTransaction;
+import com.dogial.utils.SampledLogger;
+import io.micronaut.cache.SyncCache;
 import io.micronaut.http.HttpResponse;
 
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.exceptions.HttpStatusException;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Singleton
 @Slf4j
 @Transactional
+@Measured("dogial.service")
 public class UserService {
 
+    static final String INCLUDE_DOGS = "dogs";
+    static final int MAX_INCLUDED_DOGS = 100;
+
+    private final SampledLogger notFoundLog = SampledLogger.notFound(log);
     private final UserDao userDao;
     private final UserMapper userMapper;
+    private final DogMapper dogMapper;
     private final PasswordEncoder passwordEncoder;
+    private final SyncCache<?> userCache;
+    private final EmailBloomFilter emailBloomFilter;
+    private final AfterTransaction afterTransaction;
+    private final SignupStatsService signupStatsService;
 
     @Inject
-    public UserService(UserDao userDao, PasswordEncoder passwordEncoder) {
+    public UserService(UserDao userDao,
+                       PasswordEncoder passwordEncoder,
+                       @Named("users") SyncCache<?> userCache,
+                       EmailBloomFilter emailBloomFilter,
+                       AfterTransaction afterTransaction,
+                       SignupStatsService signupStatsService) {
         this.userDao = userDao;
         this.userMapper = UserMapper.INSTANCE;
+        this.dogMapper = DogMapper.INSTANCE;
         this.passwordEncoder = passwordEncoder;
+        this.userCache = userCache;
+        this.emailBloomFilter = emailBloomFilter;
+        this.afterTransaction = afterTransaction;
+        this.signupStatsService = signupStatsService;
     }
 
-    @Transactional
+    // No surrounding transaction: hashing must not hold a connection, and the insert commits on its own
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public HttpResponse<UserResponse> createUser(UserRequest userRequest) {
-        if (userDao.existsByEmail(userRequest.email())) {
-            log.error("User with email {} already exists", userRequest.email());
+        validatePassword(userRequest.passwordHash());
+        String email = UserDao.normalizeEmail(userRequest.email());
+        // Only a possible duplicate pays for the lookup; it spares the hash for repeated sign-up attempts
+        if (emailBloomFilter.mightContain(email) && userDao.existsByEmail(email)) {
+            log.warn("User with email {} already exists", email);
             throw new HttpStatusException(HttpStatus.BAD_REQUEST, "User already exists");
         }
-        UserEntity userEntity = userMapper.toEntity(userRequest);
+        String passwordHash = passwordEncoder.encode(userRequest.passwordHash());
 
-        // Hash the password before saving
-        userEntity.setPasswordHash(passwordEncoder.encode(userRequest.passwordHash()));
-
-        UserEntity savedUser = userDao.save(userEntity);
+        Optional<UUID> id = userDao.insertIfAbsent(email, passwordHash);
+        if (id.isEmpty()) {
+            log.warn("User with email {} already exists", email);
+            throw new HttpStatusException(HttpStatus.BAD_REQUEST, "User already exists");
+        }
+        emailBloomFilter.put(email);
+        UserEntity savedUser = UserEntity.builder()
+                .id(id.get())
+                .email(email)
+                .passwordHash(passwordHash)
+                .build();
         UserResponse userResponse = userMapper.toResponse(savedUser);
         return HttpResponse.created(userResponse);
     }
 
-    @Transactional
+    // Like createUser, no surrounding transaction: the lookups and the update are short ones of their own, and no
+    // connection is held while the password hashes
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public HttpResponse<UserResponse> updateUser(UUID id, UserRequest userRequest) {
         Optional<UserEntity> existingUser = userDao.findById(id);
-        if (existingUser.isPresent()) {
-            UserEntity userEntity = existingUser.get();
-            userEntity.setEmail(userRequest.email());
-            userEntity.setPasswordHash(userRequest.passwordHash());
-            userDao.update(userEntity);
-            UserResponse userResponse = userMapper.toResponse(userEntity);
-            return HttpResponse.ok(userResponse);
-        } else {
-            log.error("User with ID {} does not exist", id);
+        if (existingUser.isEmpty()) {
+            notFoundLog.info("User with ID {} does not exist", id);
             throw new HttpStatusException(HttpStatus.NOT_FOUND, "User does not exist");
         }
+        validatePassword(userRequest.passwordHash());
+        UserEntity userEntity = existingUser.get();
+        String email = UserDao.normalizeEmail(userRequest.email());
+        if (!email.equals(UserDao.normalizeEmail(userEntity.getEmail())) && userDao.existsByEmail(email)) {
+            log.warn("User with email {} already exists", email);
+            throw new HttpStatusException(HttpStatus.BAD_REQUEST, "User already exists");
+        }
+        String passwordHash = passwordEncoder.encode(userRequest.passwordHash());
+
+        if (userDao.updateCredentials(id, email, passwordHash) == 0) {
+            notFoundLog.info("User with ID {} does not exist", id);
+            throw new HttpStatusException(HttpStatus.NOT_FOUND, "User does not exist");
+        }
+        // A false positive only costs a lookup, so the filter may learn the email as soon as it is stored
+        emailBloomFilter.put(email);
+        afterTransaction.run(() -> userCache.invalidate(id));
+        userEntity.setEmail(email);
+        userEntity.setPasswordHash(passwordHash);
+        return HttpResponse.ok(userMapper.toResponse(userEntity));
     }
 
+    // Only marks the user deleted; UserPurger removes the dogs and the row in the background, and the dogs stay
+    // visible on every dog endpoint until it does
     @Transactional
     public HttpResponse<Void> deleteUser(UUID id) {
-        Optional<UserEntity> userEntity = userDao.findById(id);
-        if (userEntity.isPresent()) {
-            userDao.delete(userEntity.get());
-            return HttpResponse.noContent();
-        } else {
-            log.error("User with ID {} does not exist", id);
+        // Usually a second-level cache hit; the creation time names the sign-up buckets that stop counting the user
+        Optional<UserEntity> user = userDao.findById(id);
+        if (user.isEmpty() || userDao.markDeleted(id) == 0) {
+            notFoundLog.info("User with ID {} does not exist", id);
             throw new HttpStatusException(HttpStatus.NOT_FOUND, "User does not exist");
         }
+        Instant createdAt = user.get().getCreatedAt();
+        afterTransaction.run(() -> {
+            userCache.invalidate(id);
+            signupStatsService.evict(createdAt);
+        });
+        return HttpResponse.accepted();
     }
 
-    @Transactional
+    // SUPPORTS keeps a cache hit from opening a transaction and borrowing a connection
+    @Transactional(Transactional.TxType.SUPPORTS)
     public HttpResponse<UserResponse> getUser(UUID id) {
+        Optional<UserResponse> cached = userCache.get(id, UserResponse.class);
+        if (cached.isPresent()) {
+            return HttpResponse.ok(cached.get());
+        }
         Optional<UserEntity> user = userDao.findById(id);
         if (user.isPresent()) {
-            return HttpResponse.ok(userMapper.toResponse(user.get()));
+            UserResponse userResponse = userMapper.toResponse(user.get());
+            userCache.put(id, userResponse);
+            return HttpResponse.ok(userResponse);
         } else {
-            log.error("User with ID {} does not exist", id);
+            notFoundLog.info("User with ID {} does not exist", id);
+            throw new HttpStatusException(HttpStatus.NOT_FOUND, "User does not exist");
+        }
+    }
+
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public HttpResponse<UserResponse> getUser(UUID id, String include) {
+        if (include == null) {
+            return getUser(id);
+        }
+        if (!INCLUDE_DOGS.equals(include)) {
+            log.warn("Unsupported include {}", include);
+            throw new HttpStatusException(HttpStatus.BAD_REQUEST, "Unsupported include");
+        }
+        // Fetch one extra dog to know whether the owner has more than the inline cap
+        Optional<UserWithDogs> userWithDogs = userDao.findWithDogs(id, MAX_INCLUDED_DOGS + 1);
+        if (userWithDogs.isEmpty()) {
+            notFoundLog.info("User with ID {} does not exist", id);
             throw new HttpStatusException(HttpStatus.NOT_FOUND, "User does not exist");
         }
+        UserEntity user = userWithDogs.get().user();
+        List<DogEntity> dogs = userWithDogs.get().dogs();
+
+        // Larger owners continue through the keyset-paginated dog listing from the returned cursor
+        String dogsNextCursor = null;
+        if (dogs.size() > MAX_INCLUDED_DOGS) {
+            dogs = dogs.subList(0, MAX_INCLUDED_DOGS);
+            DogEntity last = dogs.get(MAX_INCLUDED_DOGS - 1);
+            dogsNextCursor = new DogCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        List<DogResponse> dogResponses = dogs.stream().map(dogMapper::toResponse).toList();
+        return HttpResponse.ok(new UserResponse(user.getId(), user.getEmail(), user.getPasswordHash(),
+                dogResponses, dogsNextCursor));
+    }
+
+    // PBKDF2 cannot key its HMAC with an empty password, and an empty one is no credential anyway
+    private void validatePassword(String password) {
+        if (password == null || password.isEmpty()) {
+            log.warn("Password is missing");
+            throw new HttpStatusException(HttpStatus.BAD_REQUEST, "Password is required");
+        }
     }
 }
\ No newline at end of file
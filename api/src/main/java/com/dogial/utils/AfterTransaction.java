@@ -0,0 +1,40 @@
+package com.dogial.utils;
+
+import jakarta.inject.Singleton;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Synchronization;
+import org.hibernate.Session;
+
+/**
+ * Defers work until the current transaction has completed. Response caches are invalidated this way: dropping an
+ * entry before the commit leaves a window in which a concurrent read still sees the old row and caches it again.
+ * Outside a transaction the work runs immediately.
+ */
+@Singleton
+public class AfterTransaction {
+
+    private final EntityManager entityManager;
+
+    public AfterTransaction(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public void run(Runnable action) {
+        Session session = entityManager.unwrap(Session.class);
+        if (!session.isJoinedToTransaction()) {
+            action.run();
+            return;
+        }
+        // Also after a rollback: an extra invalidation is harmless and the callback needs no status handling
+        session.getTransaction().registerSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,47 @@
+package com.dogial.utils;
+
+import io.micronaut.serde.ObjectMapper;
+import jakarta.inject.Singleton;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Encodes a stream of objects as newline-delimited JSON, a bounded number of lines per emitted chunk so the
+ * response is written in reasonably sized pieces without buffering the whole stream.
+ */
+@Singleton
+public class NdjsonEncoder {
+
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+    static final int LINES_PER_CHUNK = 256;
+
+    private final ObjectMapper objectMapper;
+
+    public NdjsonEncoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public <T> Flux<byte[]> encode(Publisher<T> items) {
+        return Flux.from(items)
+                .buffer(LINES_PER_CHUNK)
+                .map(this::encodeChunk);
+    }
+
+    private <T> byte[] encodeChunk(List<T> chunk) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(chunk.size() * 256);
+        try {
+            for (T item : chunk) {
+                out.write(objectMapper.writeValueAsBytes(item));
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,63 @@
+package com.dogial.utils;
+
+import org.slf4j.Logger;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Emits at most {@code maxPerSecond} messages per second through the delegate logger and drops the rest.
+ * The next emitted message reports how many were dropped. Meant for high-volume, low-value paths such as
+ * not-found lookups, where logging every occurrence costs more than it tells.
+ */
+public class SampledLogger {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // Not-found is a routine client outcome, so a burst of misses must not turn into a burst of log I/O
+    static final int NOT_FOUND_LOGS_PER_SECOND = 10;
+
+    private final Logger delegate;
+    private final int maxPerSecond;
+    private final AtomicLong window = new AtomicLong(System.nanoTime() / WINDOW_NANOS);
+    private final AtomicInteger emitted = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public SampledLogger(Logger delegate, int maxPerSecond) {
+        this.delegate = delegate;
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    public static SampledLogger notFound(Logger delegate) {
+        return new SampledLogger(delegate, NOT_FOUND_LOGS_PER_SECOND);
+    }
+
+    public void info(String format, Object... arguments) {
+        if (!delegate.isInfoEnabled() || !tryAcquire()) {
+            return;
+        }
+        long dropped = suppressed.getAndSet(0);
+        if (dropped == 0) {
+            delegate.info(format, arguments);
+        } else {
+            Object[] withDropped = Arrays.copyOf(arguments, arguments.length + 1);
+            withDropped[arguments.length] = dropped;
+            delegate.info(format + " ({} similar messages suppressed)", withDropped);
+        }
+    }
+
+    boolean tryAcquire() {
+        long current = System.nanoTime() / WINDOW_NANOS;
+        long previous = window.get();
+        // Only the thread that moves the window resets the count
+        if (current != previous && window.compareAndSet(previous, current)) {
+            emitted.set(0);
+        }
+        if (emitted.incrementAndGet() <= maxPerSecond) {
+            return true;
+        }
+        suppressed.incrementAndGet();
+        return false;
+    }
+}
@@ -0,0 +1,66 @@
+package com.dogial.utils;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.query.SelectionQuery;
+import reactor.core.publisher.Flux;
+
+import java.util.function.Function;
+
+/**
+ * Streams query results from a forward-only cursor in a {@link StatelessSession}, one row per demand signal.
+ * Nothing is kept in a persistence context, so memory stays flat however many rows are read. The session,
+ * its connection and the cursor are released on completion, error or cancellation.
+ */
+public final class StatelessScroll {
+
+    private StatelessScroll() {
+    }
+
+    public static <T> Flux<T> stream(SessionFactory sessionFactory, int fetchSize,
+                                     Function<StatelessSession, SelectionQuery<T>> query) {
+        return Flux.generate(
+                () -> Cursor.open(sessionFactory, fetchSize, query),
+                (cursor, sink) -> {
+                    if (cursor.results().next()) {
+                        sink.next(cursor.results().get());
+                    } else {
+                        sink.complete();
+                    }
+                    return cursor;
+                },
+                Cursor::close);
+    }
+
+    private record Cursor<T>(StatelessSession session, Transaction transaction, ScrollableResults<T> results) {
+
+        static <T> Cursor<T> open(SessionFactory sessionFactory, int fetchSize,
+                                  Function<StatelessSession, SelectionQuery<T>> query) {
+            StatelessSession session = sessionFactory.openStatelessSession();
+            try {
+                // PgJDBC only streams with a fetch size when auto-commit is off
+                Transaction transaction = session.beginTransaction();
+                ScrollableResults<T> results = query.apply(session)
+                        .setFetchSize(fetchSize)
+                        .setReadOnly(true)
+                        .scroll(ScrollMode.FORWARD_ONLY);
+                return new Cursor<>(session, transaction, results);
+            } catch (RuntimeException e) {
+                session.close();
+                throw e;
+            }
+        }
+
+        void close() {
+            try {
+                results.close();
+                transaction.rollback();
+            } finally {
+                session.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,2 @@
+-- Keyset pagination of an owner's dogs seeks on (owner_id, created_at, id)
+CREATE INDEX idx_dogs_owner_created_at_id ON dogs (owner_id, created_at, id);
@@ -0,0 +1,2 @@
+-- Optimistic locking for concurrent dog updates
+ALTER TABLE dogs ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,28 @@
+-- Full-text search over name, breed and behavior; 'simple' keeps names and breeds unstemmed
+ALTER TABLE dogs ADD COLUMN search_vector tsvector;
+
+CREATE FUNCTION dogs_search_vector_update() RETURNS trigger AS $$
+BEGIN
+    NEW.search_vector :=
+            setweight(to_tsvector('simple', coalesce(NEW.name, '')), 'A') ||
+            setweight(to_tsvector('simple', coalesce(NEW.breed, '')), 'B') ||
+            setweight(to_tsvector('simple', coalesce(NEW.behavior, '')), 'C');
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER dogs_search_vector_trigger
+    BEFORE INSERT OR UPDATE OF name, breed, behavior ON dogs
+    FOR EACH ROW EXECUTE FUNCTION dogs_search_vector_update();
+
+UPDATE dogs SET search_vector =
+        setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(breed, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce(behavior, '')), 'C');
+
+CREATE INDEX idx_dogs_search_vector ON dogs USING GIN (search_vector);
+
+-- Filter columns; the flags are only selective combined with gender
+CREATE INDEX idx_dogs_breed ON dogs (breed);
+CREATE INDEX idx_dogs_gender_flags ON dogs (gender, is_neutered, pedigree);
+CREATE INDEX idx_dogs_weight ON dogs (weight);
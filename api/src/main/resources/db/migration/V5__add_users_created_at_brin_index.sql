@@ -0,0 +1,3 @@
+-- Sign-up statistics scan users by created_at range; rows arrive in created_at order, so a BRIN index
+-- prunes block ranges at a fraction of a btree's size and insert cost
+CREATE INDEX idx_users_created_at_brin ON users USING brin (created_at);
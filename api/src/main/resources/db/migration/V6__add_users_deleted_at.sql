@@ -0,0 +1,5 @@
+-- Deleting a user only stamps deleted_at; UserPurger removes the dogs in batches and then the row
+ALTER TABLE users ADD COLUMN deleted_at TIMESTAMP WITH TIME ZONE;
+
+-- The purge backlog is read in deletion order; the partial index only holds rows still waiting
+CREATE INDEX idx_users_pending_purge ON users (deleted_at) WHERE deleted_at IS NOT NULL;
@@ -0,0 +1,19 @@
+-- Time-ordered UUIDv7 for rows inserted by SQL (sign-up insert, COPY import); entities get theirs from UuidV7.
+-- Takes a random v4, overwrites the first 48 bits with the Unix millisecond timestamp and sets the version to 7.
+CREATE OR REPLACE FUNCTION uuid_generate_v7() RETURNS uuid AS $$
+    SELECT encode(
+        set_bit(
+            set_bit(
+                overlay(uuid_send(gen_random_uuid())
+                        PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                        FROM 1 FOR 6),
+                52, 1),
+            53, 1),
+        'hex')::uuid;
+$$ LANGUAGE sql VOLATILE;
+
+-- Existing v4 keys are kept: rewriting primary keys would touch every referencing row and break ids already
+-- handed out. New keys share a timestamp prefix and increase, so their inserts stay on a few adjacent leaf
+-- pages even in an index that still holds the old random keys.
+ALTER TABLE users ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE dogs ALTER COLUMN id SET DEFAULT uuid_generate_v7();
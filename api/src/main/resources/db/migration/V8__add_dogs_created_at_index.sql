@@ -0,0 +1,3 @@
+-- Searches without a text query list newest first: ORDER BY created_at DESC, id reads this index in order and
+-- stops after offset + limit rows instead of sorting every dog that passes the filters
+CREATE INDEX idx_dogs_created_at_desc_id ON dogs (created_at DESC, id);
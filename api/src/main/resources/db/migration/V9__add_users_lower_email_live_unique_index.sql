@@ -0,0 +1,16 @@
+-- Emails are unique among live users regardless of case; a soft-deleted user gives up their email at once
+-- instead of holding it until UserPurger removes the row. V1's constraint compares emails as typed and counts
+-- deleted rows, so live rows differing only in case have to be merged by hand before this can apply.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM users WHERE deleted_at IS NULL GROUP BY lower(email) HAVING count(*) > 1) THEN
+        RAISE EXCEPTION 'users holds live emails that differ only in case; merge them before applying V9';
+    END IF;
+END
+$$;
+
+-- Sign-up conflicts on this index. Lookups already filter on deleted_at IS NULL, which the predicate satisfies,
+-- and INCLUDE lets login and existence checks run as index-only scans.
+CREATE UNIQUE INDEX idx_users_lower_email_live ON users (lower(email)) INCLUDE (id, password_hash)
+    WHERE deleted_at IS NULL;
+ALTER TABLE users DROP CONSTRAINT users_email_key;
@@ -0,0 +1,127 @@
+package com.dogial.authentication.service;
+
+import com.dogial.user.persistence.dao.UserDao;
+import com.dogial.user.persistence.projections.UserCredentials;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.cache.SyncCache;
+import io.micronaut.security.authentication.AuthenticationException;
+import io.micronaut.security.authentication.AuthenticationRequest;
+import io.micronaut.security.authentication.AuthenticationResponse;
+import io.micronaut.security.authentication.UsernamePasswordCredentials;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DatabaseAuthenticationProviderTest {
+
+    private final UserDao userDao = mock(UserDao.class);
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final SyncCache<?> userCache = mock(SyncCache.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.AbortPolicy());
+    private final DatabaseAuthenticationProvider provider =
+            new DatabaseAuthenticationProvider(userDao, passwordEncoder, userCache,
+                    new UserRoles(List.of("admin@example.com")), executor, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testAuthenticate_Success() {
+        UserCredentials user = new UserCredentials(UUID.randomUUID(), "hash");
+        when(userDao.findCredentialsByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matchesAsync("secret", "hash")).thenReturn(CompletableFuture.completedFuture(true));
+
+        AuthenticationResponse response = Mono.from(provider.authenticate(null, credentials("secret"))).block();
+
+        assertNotNull(response);
+        assertTrue(response.isAuthenticated());
+        assertEquals(1, meterRegistry.get("dogial.auth.latency").tag("phase", "db").timer().count());
+        assertEquals(1, meterRegistry.get("dogial.auth.latency").tag("phase", "hash").timer().count());
+    }
+
+    @Test
+    void testAuthenticate_GrantsAdminRoleToConfiguredEmail() {
+        UserCredentials user = new UserCredentials(UUID.randomUUID(), "hash");
+        when(userDao.findCredentialsByEmail("Admin@Example.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matchesAsync("secret", "hash")).thenReturn(CompletableFuture.completedFuture(true));
+
+        AuthenticationResponse admin = Mono.from(provider.authenticate(null,
+                new UsernamePasswordCredentials("Admin@Example.com", "secret"))).block();
+        when(userDao.findCredentialsByEmail("test@example.com")).thenReturn(Optional.of(user));
+        AuthenticationResponse regular = Mono.from(provider.authenticate(null, credentials("secret"))).block();
+
+        assertNotNull(admin);
+        assertTrue(admin.getAuthentication().orElseThrow().getRoles().contains(UserRoles.ADMIN));
+        assertNotNull(regular);
+        assertEquals(List.of(UserRoles.USER), List.copyOf(regular.getAuthentication().orElseThrow().getRoles()));
+    }
+
+    @Test
+    void testAuthenticate_InvalidCredentials() {
+        UserCredentials user = new UserCredentials(UUID.randomUUID(), "hash");
+        when(userDao.findCredentialsByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matchesAsync("wrong", "hash")).thenReturn(CompletableFuture.completedFuture(false));
+
+        assertThrows(AuthenticationException.class,
+                () -> Mono.from(provider.authenticate(null, credentials("wrong"))).block());
+        verify(userDao, never()).updatePasswordHash(any(), any());
+    }
+
+    @Test
+    void testAuthenticate_RehashesLegacyPassword() {
+        UUID userId = UUID.randomUUID();
+        UserCredentials user = new UserCredentials(userId, "legacy");
+        when(userDao.findCredentialsByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matchesAsync("secret", "legacy")).thenReturn(CompletableFuture.completedFuture(true));
+        when(passwordEncoder.needsRehash("legacy")).thenReturn(true);
+        when(passwordEncoder.encodeAsync("secret")).thenReturn(CompletableFuture.completedFuture("upgraded"));
+
+        Mono.from(provider.authenticate(null, credentials("secret"))).block();
+
+        verify(userDao, timeout(1000)).updatePasswordHash(userId, "upgraded");
+        verify(userCache, timeout(1000)).invalidate(userId);
+    }
+
+    @Test
+    void testAuthenticate_ShedsLoadWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> awaitQuietly(release));
+        executor.execute(() -> awaitQuietly(release));
+
+        assertThrows(RejectedExecutionException.class,
+                () -> Mono.from(provider.authenticate(null, credentials("secret"))).block());
+
+        assertEquals(1.0, meterRegistry.get("dogial.auth.rejected").counter().count());
+        release.countDown();
+    }
+
+    private static AuthenticationRequest<String, String> credentials(String password) {
+        return new UsernamePasswordCredentials("test@example.com", password);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
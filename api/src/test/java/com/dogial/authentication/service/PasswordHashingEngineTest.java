@@ -0,0 +1,81 @@
+package com.dogial.authentication.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingEngineTest {
+
+    private PasswordHashingConfiguration configuration;
+    private PasswordHashingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        configuration = new PasswordHashingConfiguration();
+        configuration.setIterations(1000);
+        engine = new PasswordHashingEngine(configuration);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.close();
+    }
+
+    @Test
+    void testHash_VerifiesAndIsSalted() {
+        String first = engine.hash("secret");
+        String second = engine.hash("secret");
+
+        assertTrue(first.startsWith(PasswordHashingEngine.PBKDF2_PREFIX + "1000$"));
+        assertNotEquals(first, second);
+        assertTrue(engine.verify("secret", first));
+        assertFalse(engine.verify("wrong", first));
+        assertFalse(engine.needsRehash(first));
+    }
+
+    @Test
+    void testVerify_LegacySha256HashNeedsRehash() throws Exception {
+        String legacy = Base64.getEncoder().encodeToString(
+                MessageDigest.getInstance("SHA-256").digest("secret".getBytes(StandardCharsets.UTF_8)));
+
+        assertTrue(engine.verify("secret", legacy));
+        assertFalse(engine.verify("wrong", legacy));
+        assertTrue(engine.needsRehash(legacy));
+    }
+
+    @Test
+    void testNeedsRehash_WhenCostFactorIncreases() {
+        String encoded = engine.hash("secret");
+        configuration.setIterations(2000);
+
+        assertTrue(engine.needsRehash(encoded));
+        assertTrue(engine.verify("secret", encoded));
+    }
+
+    @Test
+    void testVerify_MalformedHash() {
+        assertFalse(engine.verify("secret", PasswordHashingEngine.PBKDF2_PREFIX + "abc$def"));
+        assertFalse(engine.verify("secret", null));
+    }
+
+    @Test
+    void testVerify_EmptyPasswordNeverMatches() {
+        String encoded = engine.hash("secret");
+
+        assertFalse(engine.verify("", encoded));
+        assertFalse(engine.verify(null, encoded));
+    }
+
+    @Test
+    void testSubmit_RunsOnHashingPool() {
+        String threadName = engine.submit(() -> Thread.currentThread().getName()).join();
+
+        assertTrue(threadName.startsWith("password-hashing-"));
+    }
+}
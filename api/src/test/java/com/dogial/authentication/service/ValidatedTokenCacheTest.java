@@ -0,0 +1,52 @@
+package com.dogial.authentication.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.security.authentication.Authentication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidatedTokenCacheTest {
+
+    private ValidatedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ValidatedTokenCache(100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testPutAndGet() {
+        Authentication authentication = authentication(Date.from(Instant.now().plusSeconds(60)));
+
+        cache.put("token", authentication);
+
+        assertSame(authentication, cache.get("token"));
+        assertNull(cache.get("other-token"));
+    }
+
+    @Test
+    void testExpiredTokenIsNotCached() {
+        cache.put("token", authentication(Date.from(Instant.now().minusSeconds(1))));
+
+        assertNull(cache.get("token"));
+    }
+
+    @Test
+    void testNumericExpirationIsHonoured() {
+        cache.put("token", authentication(Instant.now().minusSeconds(1).getEpochSecond()));
+
+        assertNull(cache.get("token"));
+    }
+
+    private static Authentication authentication(Object exp) {
+        return Authentication.build("test@dogial.com", List.of("ROLE_USER"), Map.of("exp", exp));
+    }
+}
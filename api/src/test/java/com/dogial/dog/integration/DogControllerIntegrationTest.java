@@ -1,13 +1,18 @@
 package com.dogial.dog.integration;
 
 import com.dogial.boot.IntegrationTestBase;
+import com.dogial.dog.controller.model.DogBatchResponse;
+import com.dogial.dog.controller.model.DogPageResponse;
 import com.dogial.dog.controller.model.DogRequest;
 import com.dogial.dog.controller.model.DogResponse;
+import com.dogial.dog.controller.model.DogSearchResponse;
 import com.dogial.dog.persistence.dao.DogDao;
 import com.dogial.dog.persistence.entities.DogEntity;
+import com.dogial.dog.persistence.projections.DogFacetCounts;
 import com.dogial.user.persistence.dao.UserDao;
 import com.dogial.user.persistence.entities.UserEntity;
 import io.micronaut.core.type.Argument;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
@@ -20,15 +25,21 @@ import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
+import reactor.core.publisher.Flux;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static io.micronaut.http.HttpRequest.POST;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @MicronautTest
@@ -101,6 +112,7 @@ class DogControllerIntegrationTest extends IntegrationTestBase {
 
         DogEntity dogEntity = DogEntity.builder()
                 .id(dogId)
+                .version(0L)
                 .owner(UserEntity.builder().id(ownerId).build())
                 .name(dogRequest.name())
                 .breed(dogRequest.breed())
@@ -114,10 +126,10 @@ class DogControllerIntegrationTest extends IntegrationTestBase {
 
         when(dogDao.findById(any())).thenReturn(Optional.of(dogEntity));
         when(userDao.findById(any())).thenReturn(Optional.of(UserEntity.builder().id(ownerId).build()));
-        when(dogDao.update(any())).thenReturn(dogEntity);
 
         MutableHttpRequest<DogRequest> request = HttpRequest.PUT(SERVICE_PATH + "/" + dogId, dogRequest)
-                .header("Authorization", bearerAuth(TEST_EMAIL, List.of("ROLE_USER")));
+                .header("Authorization", bearerAuth(TEST_EMAIL, List.of("ROLE_USER")))
+                .header(HttpHeaders.IF_MATCH, "\"0\"");
 
         HttpResponse<DogResponse> response = client.toBlocking().exchange(request, Argument.of(DogResponse.class));
 
@@ -130,10 +142,8 @@ class DogControllerIntegrationTest extends IntegrationTestBase {
     @Test
     void testDeleteDog_returnsSuccess() {
         UUID dogId = UUID.randomUUID();
-        DogEntity dogEntity = DogEntity.builder().id(dogId).build();
 
-        when(dogDao.findById(any())).thenReturn(Optional.of(dogEntity));
-        doNothing().when(dogDao).delete(any());
+        when(dogDao.deleteById(any())).thenReturn(true);
 
         MutableHttpRequest<Object> request = HttpRequest.DELETE(SERVICE_PATH + "/" + dogId)
                 .header("Authorization", bearerAuth(TEST_EMAIL, List.of("ROLE_USER")));
@@ -150,6 +160,7 @@ class DogControllerIntegrationTest extends IntegrationTestBase {
 
         DogEntity dogEntity = DogEntity.builder()
                 .id(dogId)
+                .version(0L)
                 .name("Buddy")
                 .breed("Labrador")
                 .gender("Male")
@@ -173,6 +184,35 @@ class DogControllerIntegrationTest extends IntegrationTestBase {
         assertEquals(dogEntity.getName(), response.body().name());
     }
 
+    @Test
+    void testPatchDog_returnsSuccess() {
+        UUID dogId = UUID.randomUUID();
+        UUID ownerId = UUID.randomUUID();
+
+        DogEntity dogEntity = DogEntity.builder()
+                .id(dogId)
+                .version(0L)
+                .owner(UserEntity.builder().id(ownerId).build())
+                .name("Buddy")
+                .breed("Labrador")
+                .build();
+
+        when(dogDao.findById(any())).thenReturn(Optional.of(dogEntity));
+
+        DogRequest patch = new DogRequest(null, null, null, null, null, null, null, "Playful", null);
+        MutableHttpRequest<DogRequest> request = HttpRequest.PATCH(SERVICE_PATH + "/" + dogId, patch)
+                .header("Authorization", bearerAuth(TEST_EMAIL, List.of("ROLE_USER")))
+                .header(HttpHeaders.IF_MATCH, "\"0\"");
+
+        HttpResponse<DogResponse> response = client.toBlocking().exchange(request, Argument.of(DogResponse.class));
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatus());
+        assertNotNull(response.body());
+        assertEquals("Buddy", response.body().name());
+        assertEquals("Playful", response.body().behavior());
+    }
+
     @Test
     void testUpdateDog_returnsNotFound() {
         UUID dogId = UUID.randomUUID();
@@ -197,7 +237,7 @@ class DogControllerIntegrationTest extends IntegrationTestBase {
     void testDeleteDog_returnsNotFound() {
         UUID dogId = UUID.randomUUID();
 
-        when(dogDao.findById(any())).thenReturn(Optional.empty());
+        when(dogDao.deleteById(any())).thenReturn(false);
 
         MutableHttpRequest<Object> request = HttpRequest.DELETE(SERVICE_PATH + "/" + dogId)
                 .header("Authorization", bearerAuth(TEST_EMAIL, List.of("ROLE_USER")));
@@ -225,6 +265,134 @@ class DogControllerIntegrationTest extends IntegrationTestBase {
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
     }
 
+    @Test
+    void testListDogs_returnsSuccess() {
+        UUID ownerId = UUID.randomUUID();
+
+        DogEntity dogEntity = DogEntity.builder()
+                .id(UUID.randomUUID())
+                .owner(UserEntity.builder().id(ownerId).build())
+                .name("Buddy")
+                .breed("Labrador")
+                .gender("Male")
+                .createdAt(Instant.now())
+                .build();
+
+        when(dogDao.findByOwner(eq(ownerId), any(), any(), anyInt())).thenReturn(List.of(dogEntity));
+
+        MutableHttpRequest<Object> request = HttpRequest.GET(SERVICE_PATH + "?ownerId=" + ownerId + "&limit=10")
+                .header("Authorization", bearerAuth(TEST_EMAIL, List.of("ROLE_USER")));
+
+        HttpResponse<DogPageResponse> response = client.toBlocking().exchange(request, Argument.of(DogPageResponse.class));
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatus());
+        assertNotNull(response.body());
+        assertEquals(1, response.body().items().size());
+        assertEquals(dogEntity.getName(), response.body().items().get(0).name());
+        assertNull(response.body().nextCursor());
+    }
+
+    @Test
+    void testListDogs_returnsBadRequestForInvalidCursor() {
+        MutableHttpRequest<Object> request = HttpRequest.GET(SERVICE_PATH + "?ownerId=" + UUID.randomUUID() + "&after=bogus")
+                .header("Authorization", bearerAuth(TEST_EMAIL, List.of("ROLE_USER")));
+
+        HttpClientResponseException exception = assertThrows(HttpClientResponseException.class, () -> {
+            client.toBlocking().exchange(request, Argument.of(DogPageResponse.class));
+        });
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
+    @Test
+    void testSearchDogs_returnsItemsAndFacets() {
+        DogEntity dogEntity = DogEntity.builder()
+                .id(UUID.randomUUID())
+                .owner(UserEntity.builder().id(UUID.randomUUID()).build())
+                .name("Buddy")
+                .breed("Labrador")
+                .gender("Male")
+                .build();
+
+        when(dogDao.search(any(), eq(0), eq(20))).thenReturn(List.of(dogEntity));
+        when(dogDao.countFacets(any())).thenReturn(new DogFacetCounts(Map.of("Labrador", 1L), Map.of("Male", 1L)));
+
+        MutableHttpRequest<Object> request = HttpRequest.GET(SERVICE_PATH + "/search?q=buddy&gender=Male&minWeight=10&facets=true")
+                .header("Authorization", bearerAuth(TEST_EMAIL, List.of("ROLE_USER")));
+
+        HttpResponse<DogSearchResponse> response = client.toBlocking().exchange(request, Argument.of(DogSearchResponse.class));
+
+        assertEquals(HttpStatus.OK, response.getStatus());
+        assertNotNull(response.body());
+        assertEquals(1, response.body().items().size());
+        assertEquals(1L, response.body().facets().breed().get("Labrador"));
+        verify(dogDao).search(argThat(criteria -> "buddy".equals(criteria.query())
+                && "Male".equals(criteria.gender())
+                && new BigDecimal("10").compareTo(criteria.minWeight()) == 0), eq(0), eq(20));
+    }
+
+    @Test
+    void testExportDogs_streamsNdjson() {
+        UUID ownerId = UUID.randomUUID();
+        UserEntity owner = UserEntity.builder().id(ownerId).build();
+        DogEntity buddy = DogEntity.builder().id(UUID.randomUUID()).owner(owner).name("Buddy").breed("Labrador").gender("Male").build();
+        DogEntity rex = DogEntity.builder().id(UUID.randomUUID()).owner(owner).name("Rex").breed("Beagle").gender("Male").build();
+
+        when(dogDao.stream(ownerId)).thenReturn(Flux.just(buddy, rex));
+
+        MutableHttpRequest<Object> request = HttpRequest.GET(SERVICE_PATH + "/export?ownerId=" + ownerId)
+                .header("Authorization", bearerAuth(TEST_EMAIL, List.of("ROLE_USER")));
+
+        HttpResponse<String> response = client.toBlocking().exchange(request, String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatus());
+        assertEquals("application/x-ndjson", response.getContentType().map(Object::toString).orElse(null));
+        String[] lines = response.body().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"name\":\"Buddy\""));
+        assertTrue(lines[1].contains("\"name\":\"Rex\""));
+    }
+
+    @Test
+    void testExportDogs_allDogsRequireAdminRole() {
+        MutableHttpRequest<Object> request = HttpRequest.GET(SERVICE_PATH + "/export")
+                .header("Authorization", bearerAuth(TEST_EMAIL, List.of("ROLE_USER")));
+
+        HttpClientResponseException exception = assertThrows(HttpClientResponseException.class, () -> {
+            client.toBlocking().exchange(request, String.class);
+        });
+
+        assertEquals(HttpStatus.FORBIDDEN, exception.getStatus());
+        verify(dogDao, never()).stream(any());
+    }
+
+    @Test
+    void testCreateDogs_returnsPerItemResults() {
+        UUID ownerId = UUID.randomUUID();
+
+        List<DogRequest> dogRequests = List.of(
+                new DogRequest(ownerId, "Buddy", "Labrador", "Male",
+                        new BigDecimal("30.5"), "2 years", true, "Friendly", true),
+                new DogRequest(UUID.randomUUID(), "Rex", "Beagle", "Male",
+                        new BigDecimal("12.0"), "3 years", false, "Calm", false));
+
+        when(userDao.findAllByIds(any())).thenReturn(Map.of(ownerId, UserEntity.builder().id(ownerId).build()));
+        when(dogDao.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        MutableHttpRequest<List<DogRequest>> request = POST(SERVICE_PATH + "/batch", dogRequests)
+                .header("Authorization", bearerAuth(TEST_EMAIL, List.of("ROLE_USER")));
+
+        HttpResponse<DogBatchResponse> response = client.toBlocking().exchange(request, Argument.of(DogBatchResponse.class));
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatus());
+        assertNotNull(response.body());
+        assertEquals(1, response.body().succeeded());
+        assertEquals(1, response.body().failed());
+        assertEquals(HttpStatus.NOT_FOUND.getCode(), response.body().results().get(1).status());
+    }
+
     @Test
     void testUnauthorizedAccess() {
         UUID dogId = UUID.randomUUID();
@@ -0,0 +1,165 @@
+package com.dogial.dog.integration;
+
+import com.dogial.boot.IntegrationTestBase;
+import com.dogial.dog.controller.model.DogRequest;
+import com.dogial.dog.persistence.dao.DogDao;
+import com.dogial.dog.persistence.dao.DogImportDao;
+import com.dogial.dog.persistence.dao.DogSearchCriteria;
+import com.dogial.dog.persistence.entities.DogEntity;
+import com.dogial.dog.persistence.projections.DogFacetCounts;
+import com.dogial.user.persistence.dao.UserDao;
+import com.dogial.user.persistence.entities.UserEntity;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest(transactional = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DogDaoIntegrationTest extends IntegrationTestBase {
+
+    @Inject
+    private DogDao dogDao;
+
+    @Inject
+    private UserDao userDao;
+
+    @Inject
+    private DogImportDao dogImportDao;
+
+    @Test
+    void testSearch_matchesTextMaintainedByTrigger() {
+        UserEntity owner = createOwner();
+        String breed = "Breed-" + UUID.randomUUID();
+        DogEntity match = createDog(owner, "Sniffles", breed, "Male", "Loves long walks", "20.00");
+        createDog(owner, "Rex", breed, "Male", "Sleeps all day", "20.00");
+
+        List<DogEntity> result = dogDao.search(
+                new DogSearchCriteria("walks", breed, null, null, null, null, null), 0, 10);
+
+        assertEquals(1, result.size());
+        assertEquals(match.getId(), result.get(0).getId());
+    }
+
+    @Test
+    void testSearch_appliesWeightRange() {
+        UserEntity owner = createOwner();
+        String breed = "Breed-" + UUID.randomUUID();
+        createDog(owner, "Tiny", breed, "Female", null, "4.50");
+        DogEntity heavy = createDog(owner, "Moose", breed, "Male", null, "45.00");
+
+        List<DogEntity> result = dogDao.search(new DogSearchCriteria(null, breed, null, null, null,
+                new BigDecimal("10"), new BigDecimal("50")), 0, 10);
+
+        assertEquals(1, result.size());
+        assertEquals(heavy.getId(), result.get(0).getId());
+    }
+
+    @Test
+    void testReads_keepDogsOfDeletedOwnerUntilPurged() {
+        UserEntity owner = createOwner();
+        String breed = "Breed-" + UUID.randomUUID();
+        DogEntity dog = createDog(owner, "Orphan", breed, "Male", null, "20.00");
+
+        assertEquals(1, userDao.markDeleted(owner.getId()));
+
+        assertTrue(dogDao.findById(dog.getId()).isPresent());
+        assertEquals(List.of(dog.getId()), dogDao.findByOwner(owner.getId(), null, null, 10).stream()
+                .map(DogEntity::getId)
+                .toList());
+        assertEquals(1, dogDao.search(new DogSearchCriteria(null, breed, null, null, null, null, null), 0, 10).size());
+    }
+
+    @Test
+    void testCountFacets_countsBreedAndGenderInOneQuery() {
+        UserEntity owner = createOwner();
+        String tag = UUID.randomUUID().toString();
+        createDog(owner, "Ace " + tag, "Beagle", "Male", null, "10.00");
+        createDog(owner, "Bea " + tag, "Beagle", "Female", null, "10.00");
+        createDog(owner, "Cy " + tag, "Poodle", "Male", null, "10.00");
+
+        DogFacetCounts facets = dogDao.countFacets(new DogSearchCriteria(tag, null, null, null, null, null, null));
+
+        assertEquals(2L, facets.breed().get("Beagle"));
+        assertEquals(1L, facets.breed().get("Poodle"));
+        assertEquals(2L, facets.gender().get("Male"));
+        assertEquals(1L, facets.gender().get("Female"));
+    }
+
+    @Test
+    void testStream_readsOwnerDogsInOrder() {
+        UserEntity owner = createOwner();
+        DogEntity first = createDog(owner, "First", "Beagle", "Male", null, "10.00");
+        DogEntity second = createDog(owner, "Second", "Beagle", "Female", null, "10.00");
+
+        List<UUID> streamed = dogDao.stream(owner.getId())
+                .map(DogEntity::getId)
+                .collectList()
+                .block();
+
+        assertEquals(List.of(first.getId(), second.getId()), streamed);
+    }
+
+    @Test
+    void testImport_copiesThroughStagingAndMerges() throws Exception {
+        UserEntity owner = createOwner();
+        List<DogRequest> dogs = List.of(
+                new DogRequest(owner.getId(), "Copy \"One\"", "Beagle", "Male", new BigDecimal("10.50"), "2", null, "Likes, commas", null),
+                new DogRequest(owner.getId(), "Copy Two", "Poodle", "Female", null, null, true, null, true));
+
+        int merged;
+        try (DogImportDao.ImportSession session = dogImportDao.open()) {
+            assertEquals(Set.of(owner.getId()), session.findExistingOwners(Set.of(owner.getId(), UUID.randomUUID())));
+            assertEquals(2, session.stage(dogs));
+            merged = session.merge();
+            session.commit();
+        }
+
+        assertEquals(2, merged);
+        List<DogEntity> imported = dogDao.stream(owner.getId()).collectList().block();
+        assertEquals(2, imported.size());
+        assertTrue(imported.stream().anyMatch(dog -> "Copy \"One\"".equals(dog.getName())
+                && "Likes, commas".equals(dog.getBehavior()) && !dog.getIsNeutered()));
+    }
+
+    @Test
+    void testDeleteAllByIds_returnsOnlyExistingIdsAndEvictsThem() {
+        UserEntity owner = createOwner();
+        DogEntity first = createDog(owner, "First", "Labrador", "Male", null, "20.00");
+        DogEntity second = createDog(owner, "Second", "Labrador", "Female", null, "20.00");
+        // Warm the second-level cache so a stale entry would be noticed
+        assertTrue(dogDao.findById(first.getId()).isPresent());
+
+        Set<UUID> deleted = dogDao.deleteAllByIds(Set.of(first.getId(), second.getId(), UUID.randomUUID()));
+
+        assertEquals(Set.of(first.getId(), second.getId()), deleted);
+        assertTrue(dogDao.findById(first.getId()).isEmpty());
+        assertFalse(dogDao.deleteById(first.getId()));
+    }
+
+    private UserEntity createOwner() {
+        return userDao.save(UserEntity.builder()
+                .email("owner-" + UUID.randomUUID() + "@example.com")
+                .passwordHash("passwordHash")
+                .build());
+    }
+
+    private DogEntity createDog(UserEntity owner, String name, String breed, String gender, String behavior,
+                                String weight) {
+        return dogDao.save(DogEntity.builder()
+                .owner(owner)
+                .name(name)
+                .breed(breed)
+                .gender(gender)
+                .behavior(behavior)
+                .weight(new BigDecimal(weight))
+                .build());
+    }
+}
@@ -0,0 +1,34 @@
+package com.dogial.dog.persistence.dao;
+
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class DogImportDaoTest {
+
+    @Test
+    void testClose_ReleasesConnectionWhenRollbackFails() throws SQLException {
+        Connection connection = mock(Connection.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(mock(CopyManager.class));
+        doThrow(new SQLException("An I/O error occurred while sending to the backend")).when(connection).rollback();
+
+        DogImportDao.ImportSession session = new DogImportDao(dataSource).open();
+
+        assertThrows(SQLException.class, session::close);
+        verify(connection).close();
+    }
+}
@@ -0,0 +1,99 @@
+package com.dogial.dog.service;
+
+import com.dogial.dog.controller.model.DogImportResponse;
+import com.dogial.dog.controller.model.DogRequest;
+import com.dogial.dog.persistence.dao.DogImportDao;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.exceptions.HttpStatusException;
+import io.micronaut.serde.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DogImportServiceTest {
+
+    private DogImportDao dogImportDao;
+    private DogImportDao.ImportSession session;
+    private Cache cache;
+    private DogImportService dogImportService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dogImportDao = mock(DogImportDao.class);
+        session = mock(DogImportDao.ImportSession.class);
+        when(dogImportDao.open()).thenReturn(session);
+
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        cache = mock(Cache.class);
+        when(sessionFactory.getCache()).thenReturn(cache);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+
+        dogImportService = new DogImportService(dogImportDao, mock(ObjectMapper.class), entityManagerFactory);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportDogs_StagesValidRowsAndReportsRejections() throws Exception {
+        UUID ownerId = UUID.randomUUID();
+        UUID missingOwnerId = UUID.randomUUID();
+        String csv = "ownerId,name,breed,gender,weight,behavior\n"
+                + ownerId + ",Buddy,Labrador,Male,30.5,\"Friendly, calm\"\n"
+                + missingOwnerId + ",Rex,Beagle,Male,12,\n"
+                + ownerId + ",Heavy,Mastiff,Male,1000,\n"
+                + "not-a-uuid,Ghost,Husky,Female,,\n";
+        when(session.findExistingOwners(any())).thenReturn(Set.of(ownerId));
+        when(session.stage(any())).thenReturn(1L);
+        when(session.merge()).thenReturn(1);
+
+        HttpResponse<DogImportResponse> response = dogImportService.importDogs(stream(csv), "text/csv");
+
+        assertEquals(HttpStatus.OK, response.getStatus());
+        DogImportResponse body = response.body();
+        assertEquals(4, body.received());
+        assertEquals(1, body.imported());
+        assertEquals(3, body.rejected());
+        assertEquals(List.of(4L, 5L, 3L), body.rejections().stream().map(r -> r.line()).toList());
+
+        ArgumentCaptor<List<DogRequest>> staged = ArgumentCaptor.forClass(List.class);
+        verify(session).stage(staged.capture());
+        assertEquals(1, staged.getValue().size());
+        assertEquals("Friendly, calm", staged.getValue().get(0).behavior());
+        verify(session).commit();
+        verify(cache).evictCollectionData(any());
+    }
+
+    @Test
+    void testImportDogs_RejectsCsvWithoutRequiredColumns() throws Exception {
+        HttpStatusException exception = assertThrows(HttpStatusException.class,
+                () -> dogImportService.importDogs(stream("name,breed\nBuddy,Labrador\n"), "text/csv"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        verify(session, never()).commit();
+        verify(session).close();
+    }
+
+    @Test
+    void testSplitCsv_HandlesQuotedFields() {
+        assertEquals(List.of("a", "b, c", "say \"hi\"", ""), DogImportService.splitCsv("a,\"b, c\",\"say \"\"hi\"\"\","));
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,11 +1,20 @@
 package com.dogial.dog.service;
 
+import com.dogial.dog.controller.model.DogBatchResponse;
+import com.dogial.dog.controller.model.DogBatchUpdateItem;
+import com.dogial.dog.controller.model.DogPageResponse;
 import com.dogial.dog.controller.model.DogRequest;
 import com.dogial.dog.controller.model.DogResponse;
+import com.dogial.dog.controller.model.DogSearchResponse;
 import com.dogial.dog.persistence.dao.DogDao;
+import com.dogial.dog.persistence.dao.DogSearchCriteria;
 import com.dogial.dog.persistence.entities.DogEntity;
+import com.dogial.dog.persistence.projections.DogFacetCounts;
 import com.dogial.user.persistence.dao.UserDao;
 import com.dogial.user.persistence.entities.UserEntity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.exceptions.HttpStatusException;
@@ -16,11 +25,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @MicronautTest(rebuildContext = true)
@@ -46,6 +62,9 @@ class DogServiceTest {
     @Inject
     private DogService dogService;
 
+    @Inject
+    private MeterRegistry meterRegistry;
+
     @Test
     void testCreateDog_Success() {
         UUID ownerId = UUID.randomUUID();
@@ -80,6 +99,7 @@ class DogServiceTest {
         DogRequest dogRequest = new DogRequest(ownerId, "Buddy", "Labrador", "Male", new BigDecimal("30.5"), "2 years", true, "Friendly", true);
         DogEntity dogEntity = DogEntity.builder()
                 .id(dogId)
+                .version(0L)
                 .owner(UserEntity.builder().id(ownerId).build())
                 .name(dogRequest.name())
                 .breed(dogRequest.breed())
@@ -92,9 +112,8 @@ class DogServiceTest {
                 .build();
         when(dogDao.findById(any())).thenReturn(Optional.of(dogEntity));
         when(userDao.findById(any())).thenReturn(Optional.of(UserEntity.builder().id(ownerId).build()));
-        when(dogDao.update(any())).thenReturn(dogEntity);
 
-        HttpResponse<DogResponse> response = dogService.updateDog(dogId, dogRequest);
+        HttpResponse<DogResponse> response = dogService.updateDog(dogId, DogETag.of(0L), dogRequest);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatus());
@@ -105,14 +124,13 @@ class DogServiceTest {
     @Test
     void testDeleteDog_Success() {
         UUID dogId = UUID.randomUUID();
-        DogEntity dogEntity = DogEntity.builder().id(dogId).build();
-        when(dogDao.findById(any())).thenReturn(Optional.of(dogEntity));
-        doNothing().when(dogDao).delete(any());
+        when(dogDao.deleteById(any())).thenReturn(true);
 
         HttpResponse<Void> response = dogService.deleteDog(dogId);
 
         assertNotNull(response);
         assertEquals(HttpStatus.NO_CONTENT, response.getStatus());
+        verify(dogDao, never()).findById(any());
     }
 
     @Test
@@ -120,6 +138,7 @@ class DogServiceTest {
         UUID dogId = UUID.randomUUID();
         DogEntity dogEntity = DogEntity.builder()
                 .id(dogId)
+                .version(0L)
                 .name("Buddy")
                 .breed("Labrador")
                 .gender("Male")
@@ -147,7 +166,7 @@ class DogServiceTest {
         when(dogDao.findById(any())).thenReturn(Optional.empty());
 
         HttpStatusException exception = assertThrows(HttpStatusException.class, () -> {
-            dogService.updateDog(dogId, dogRequest);
+            dogService.updateDog(dogId, DogETag.of(0L), dogRequest);
         });
 
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
@@ -157,7 +176,7 @@ class DogServiceTest {
     @Test
     void testDeleteDog_DogNotFound() {
         UUID dogId = UUID.randomUUID();
-        when(dogDao.findById(any())).thenReturn(Optional.empty());
+        when(dogDao.deleteById(any())).thenReturn(false);
 
         HttpStatusException exception = assertThrows(HttpStatusException.class, () -> {
             dogService.deleteDog(dogId);
@@ -179,4 +198,432 @@ class DogServiceTest {
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
         assertEquals("Dog does not exist", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetDog_DogNotFound_countsError() {
+        when(dogDao.findById(any())).thenReturn(Optional.empty());
+
+        assertThrows(HttpStatusException.class, () -> dogService.getDog(UUID.randomUUID()));
+
+        Counter counter = meterRegistry.find("dogial.service.errors")
+                .tags("class", "DogService", "method", "getDog", "status", "404")
+                .counter();
+        assertNotNull(counter);
+        assertEquals(1.0, counter.count());
+    }
+
+    @Test
+    void testListDogs_ReturnsNextCursor() {
+        UUID ownerId = UUID.randomUUID();
+        Instant createdAt = Instant.parse("2024-01-01T10:00:00Z");
+        UserEntity owner = UserEntity.builder().id(ownerId).build();
+        List<DogEntity> dogs = List.of(
+                DogEntity.builder().id(UUID.randomUUID()).owner(owner).name("Buddy").createdAt(createdAt).build(),
+                DogEntity.builder().id(UUID.randomUUID()).owner(owner).name("Rex").createdAt(createdAt.plusSeconds(1)).build(),
+                DogEntity.builder().id(UUID.randomUUID()).owner(owner).name("Max").createdAt(createdAt.plusSeconds(2)).build());
+        when(dogDao.findByOwner(eq(ownerId), isNull(), isNull(), eq(3))).thenReturn(dogs);
+
+        HttpResponse<DogPageResponse> response = dogService.listDogs(ownerId, null, 2);
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatus());
+        assertNotNull(response.body());
+        assertEquals(2, response.body().items().size());
+        assertEquals(ownerId, response.body().items().get(0).ownerId());
+        DogCursor cursor = DogCursor.decode(response.body().nextCursor());
+        assertEquals(dogs.get(1).getId(), cursor.id());
+        assertEquals(dogs.get(1).getCreatedAt(), cursor.createdAt());
+    }
+
+    @Test
+    void testListDogs_LastPage() {
+        UUID ownerId = UUID.randomUUID();
+        DogCursor cursor = new DogCursor(Instant.parse("2024-01-01T10:00:00Z"), UUID.randomUUID());
+        DogEntity dogEntity = DogEntity.builder()
+                .id(UUID.randomUUID())
+                .owner(UserEntity.builder().id(ownerId).build())
+                .name("Buddy")
+                .createdAt(Instant.parse("2024-01-02T10:00:00Z"))
+                .build();
+        when(dogDao.findByOwner(eq(ownerId), eq(cursor.createdAt()), eq(cursor.id()), anyInt()))
+                .thenReturn(List.of(dogEntity));
+
+        HttpResponse<DogPageResponse> response = dogService.listDogs(ownerId, cursor.encode(), null);
+
+        assertNotNull(response.body());
+        assertEquals(1, response.body().items().size());
+        assertNull(response.body().nextCursor());
+    }
+
+    @Test
+    void testListDogs_InvalidCursor() {
+        HttpStatusException exception = assertThrows(HttpStatusException.class, () -> {
+            dogService.listDogs(UUID.randomUUID(), "not-a-cursor", 10);
+        });
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("Invalid cursor", exception.getMessage());
+    }
+
+    @Test
+    void testListDogs_InvalidPageSize() {
+        HttpStatusException exception = assertThrows(HttpStatusException.class, () -> {
+            dogService.listDogs(UUID.randomUUID(), null, DogService.MAX_PAGE_SIZE + 1);
+        });
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
+    @Test
+    void testSearchDogs_ReturnsItemsAndFacets() {
+        DogSearchCriteria criteria = new DogSearchCriteria("buddy", null, "Male", null, null, null, null);
+        DogEntity dogEntity = DogEntity.builder()
+                .id(UUID.randomUUID())
+                .owner(UserEntity.builder().id(UUID.randomUUID()).build())
+                .name("Buddy")
+                .breed("Labrador")
+                .gender("Male")
+                .build();
+        when(dogDao.search(criteria, 0, DogService.DEFAULT_PAGE_SIZE)).thenReturn(List.of(dogEntity));
+        when(dogDao.countFacets(criteria)).thenReturn(new DogFacetCounts(Map.of("Labrador", 1L), Map.of("Male", 1L)));
+
+        HttpResponse<DogSearchResponse> response = dogService.searchDogs(criteria, null, null, true);
+
+        assertEquals(HttpStatus.OK, response.getStatus());
+        assertEquals(1, response.body().items().size());
+        assertEquals("Buddy", response.body().items().get(0).name());
+        assertEquals(1L, response.body().facets().breed().get("Labrador"));
+        assertEquals(1L, response.body().facets().gender().get("Male"));
+    }
+
+    @Test
+    void testSearchDogs_SkipsFacetsUnlessRequested() {
+        DogSearchCriteria criteria = new DogSearchCriteria(null, "Labrador", null, null, null, null, null);
+        when(dogDao.search(criteria, 20, 10)).thenReturn(List.of());
+
+        HttpResponse<DogSearchResponse> response = dogService.searchDogs(criteria, 10, 20, false);
+
+        assertNull(response.body().facets());
+        verify(dogDao, never()).countFacets(any());
+    }
+
+    @Test
+    void testSearchDogs_InvalidWeightRange() {
+        DogSearchCriteria criteria = new DogSearchCriteria(null, null, null, null, null,
+                new BigDecimal("30"), new BigDecimal("10"));
+
+        HttpStatusException exception = assertThrows(HttpStatusException.class,
+                () -> dogService.searchDogs(criteria, null, null, false));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        verify(dogDao, never()).search(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testCreateDogs_ReportsMissingOwnerPerItem() {
+        UUID ownerId = UUID.randomUUID();
+        UUID missingOwnerId = UUID.randomUUID();
+        List<DogRequest> dogRequests = List.of(
+                new DogRequest(ownerId, "Buddy", "Labrador", "Male", new BigDecimal("30.5"), "2 years", true, "Friendly", true),
+                new DogRequest(missingOwnerId, "Rex", "Beagle", "Male", new BigDecimal("12.0"), "3 years", false, "Calm", false));
+        when(userDao.findAllByIds(any())).thenReturn(Map.of(ownerId, UserEntity.builder().id(ownerId).build()));
+        when(dogDao.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        HttpResponse<DogBatchResponse> response = dogService.createDogs(dogRequests);
+
+        assertNotNull(response.body());
+        assertEquals(1, response.body().succeeded());
+        assertEquals(1, response.body().failed());
+        assertEquals(HttpStatus.CREATED.getCode(), response.body().results().get(0).status());
+        assertEquals("Buddy", response.body().results().get(0).dog().name());
+        assertEquals(HttpStatus.NOT_FOUND.getCode(), response.body().results().get(1).status());
+        verify(userDao, times(1)).findAllByIds(Set.of(ownerId, missingOwnerId));
+        verify(dogDao, never()).save(any());
+    }
+
+    @Test
+    void testCreateDogs_ReportsInvalidItemsAndSavesTheRest() {
+        UUID ownerId = UUID.randomUUID();
+        List<DogRequest> dogRequests = List.of(
+                new DogRequest(ownerId, "Buddy", "Labrador", "Male", new BigDecimal("30.5"), "2 years", true, "Friendly", true),
+                new DogRequest(null, "Rex", "Beagle", "Male", new BigDecimal("12.0"), "3 years", false, "Calm", false),
+                new DogRequest(ownerId, null, "Beagle", "Male", null, null, null, null, null),
+                new DogRequest(ownerId, "Max", "x".repeat(DogService.MAX_BREED_LENGTH + 1), "Male", null, null, null, null, null),
+                new DogRequest(ownerId, "Bella", "Poodle", "Female", new BigDecimal("1000"), null, null, null, null));
+        when(userDao.findAllByIds(any())).thenReturn(Map.of(ownerId, UserEntity.builder().id(ownerId).build()));
+        when(dogDao.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        HttpResponse<DogBatchResponse> response = dogService.createDogs(dogRequests);
+
+        assertNotNull(response.body());
+        assertEquals(1, response.body().succeeded());
+        assertEquals(4, response.body().failed());
+        assertEquals(HttpStatus.CREATED.getCode(), response.body().results().get(0).status());
+        assertEquals("Owner is required", response.body().results().get(1).error());
+        for (int i = 1; i < dogRequests.size(); i++) {
+            assertEquals(HttpStatus.BAD_REQUEST.getCode(), response.body().results().get(i).status());
+            assertEquals(i, response.body().results().get(i).index());
+        }
+        verify(dogDao, times(1)).saveAll(argThat(dogs -> dogs.size() == 1 && "Buddy".equals(dogs.get(0).getName())));
+    }
+
+    @Test
+    void testCreateDogs_RejectsEmptyBatch() {
+        HttpStatusException exception = assertThrows(HttpStatusException.class, () -> {
+            dogService.createDogs(List.of());
+        });
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
+    @Test
+    void testUpdateDogs_ReportsMissingDogPerItem() {
+        UUID dogId = UUID.randomUUID();
+        UUID missingDogId = UUID.randomUUID();
+        UUID ownerId = UUID.randomUUID();
+        DogRequest dogRequest = new DogRequest(ownerId, "Buddy", "Labrador", "Male", new BigDecimal("30.5"), "2 years", true, "Friendly", true);
+        DogEntity dogEntity = DogEntity.builder().id(dogId).name("Old name").version(0L).build();
+        when(dogDao.findAllByIds(any())).thenReturn(Map.of(dogId, dogEntity));
+        when(userDao.findAllByIds(any())).thenReturn(Map.of(ownerId, UserEntity.builder().id(ownerId).build()));
+
+        HttpResponse<DogBatchResponse> response = dogService.updateDogs(List.of(
+                new DogBatchUpdateItem(dogId, 0L, dogRequest),
+                new DogBatchUpdateItem(missingDogId, 0L, dogRequest)));
+
+        assertNotNull(response.body());
+        assertEquals(HttpStatus.OK.getCode(), response.body().results().get(0).status());
+        assertEquals("Buddy", dogEntity.getName());
+        assertEquals(HttpStatus.NOT_FOUND.getCode(), response.body().results().get(1).status());
+        assertEquals(missingDogId, response.body().results().get(1).id());
+    }
+
+    @Test
+    void testUpdateDogs_ReportsInvalidItemsAndUpdatesTheRest() {
+        UUID dogId = UUID.randomUUID();
+        UUID otherDogId = UUID.randomUUID();
+        UUID thirdDogId = UUID.randomUUID();
+        UUID ownerId = UUID.randomUUID();
+        DogRequest dogRequest = new DogRequest(ownerId, "Buddy", "Labrador", "Male", new BigDecimal("30.5"), "2 years", true, "Friendly", true);
+        DogEntity dogEntity = DogEntity.builder().id(dogId).name("Old name").version(0L).build();
+        DogEntity otherDogEntity = DogEntity.builder().id(otherDogId).name("Other").gender("Male").version(0L).build();
+        DogEntity thirdDogEntity = DogEntity.builder().id(thirdDogId).name("Third").version(0L).build();
+        when(dogDao.findAllByIds(any())).thenReturn(Map.of(dogId, dogEntity, otherDogId, otherDogEntity,
+                thirdDogId, thirdDogEntity));
+        when(userDao.findAllByIds(any())).thenReturn(Map.of(ownerId, UserEntity.builder().id(ownerId).build()));
+
+        HttpResponse<DogBatchResponse> response = dogService.updateDogs(List.of(
+                new DogBatchUpdateItem(dogId, 0L, dogRequest),
+                new DogBatchUpdateItem(otherDogId, 0L,
+                        new DogRequest(ownerId, "Other", "Beagle", null, null, null, null, null, null)),
+                new DogBatchUpdateItem(thirdDogId, 0L,
+                        new DogRequest(null, "Third", "Beagle", "Male", null, null, null, null, null))));
+
+        assertNotNull(response.body());
+        assertEquals(1, response.body().succeeded());
+        assertEquals(HttpStatus.OK.getCode(), response.body().results().get(0).status());
+        assertEquals("Buddy", dogEntity.getName());
+        assertEquals(HttpStatus.BAD_REQUEST.getCode(), response.body().results().get(1).status());
+        assertEquals(otherDogId, response.body().results().get(1).id());
+        assertEquals("Male", otherDogEntity.getGender());
+        assertEquals(HttpStatus.BAD_REQUEST.getCode(), response.body().results().get(2).status());
+        assertEquals("Owner is required", response.body().results().get(2).error());
+        assertEquals("Third", thirdDogEntity.getName());
+        assertNull(thirdDogEntity.getBreed());
+    }
+
+    @Test
+    void testUpdateDogs_ReturnsVersionAfterFlush() {
+        UUID dogId = UUID.randomUUID();
+        UUID ownerId = UUID.randomUUID();
+        DogRequest dogRequest = new DogRequest(ownerId, "Buddy", "Labrador", "Male", new BigDecimal("30.5"), "2 years", true, "Friendly", true);
+        DogEntity dogEntity = DogEntity.builder().id(dogId).name("Old name").version(0L).build();
+        when(dogDao.findAllByIds(any())).thenReturn(Map.of(dogId, dogEntity));
+        when(userDao.findAllByIds(any())).thenReturn(Map.of(ownerId, UserEntity.builder().id(ownerId).build()));
+        // The flush is where Hibernate increments the version of a dirty entity
+        doAnswer(invocation -> {
+            dogEntity.setVersion(dogEntity.getVersion() + 1);
+            return null;
+        }).when(dogDao).flush();
+
+        HttpResponse<DogBatchResponse> response = dogService.updateDogs(List.of(
+                new DogBatchUpdateItem(dogId, 0L, dogRequest)));
+
+        assertNotNull(response.body());
+        assertEquals(HttpStatus.OK.getCode(), response.body().results().get(0).status());
+        assertEquals(1L, response.body().results().get(0).dog().version());
+    }
+
+    @Test
+    void testDeleteDogs_ReportsMissingDogPerItem() {
+        UUID dogId = UUID.randomUUID();
+        UUID missingDogId = UUID.randomUUID();
+        when(dogDao.deleteAllByIds(any())).thenReturn(Set.of(dogId));
+
+        HttpResponse<DogBatchResponse> response = dogService.deleteDogs(List.of(dogId, missingDogId));
+
+        assertNotNull(response.body());
+        assertEquals(1, response.body().succeeded());
+        assertEquals(HttpStatus.NO_CONTENT.getCode(), response.body().results().get(0).status());
+        assertEquals(HttpStatus.NOT_FOUND.getCode(), response.body().results().get(1).status());
+        verify(dogDao, times(1)).deleteAllByIds(Set.of(dogId, missingDogId));
+    }
+
+    @Test
+    void testGetDog_ServedFromCacheUntilUpdated() {
+        UUID dogId = UUID.randomUUID();
+        UUID ownerId = UUID.randomUUID();
+        DogEntity dogEntity = DogEntity.builder()
+                .id(dogId)
+                .version(0L)
+                .owner(UserEntity.builder().id(ownerId).build())
+                .name("Buddy")
+                .build();
+        when(dogDao.findById(dogId)).thenReturn(Optional.of(dogEntity));
+        when(userDao.findById(any())).thenReturn(Optional.of(UserEntity.builder().id(ownerId).build()));
+
+        dogService.getDog(dogId);
+        HttpResponse<DogResponse> cached = dogService.getDog(dogId);
+
+        assertNotNull(cached.body());
+        assertEquals("Buddy", cached.body().name());
+        verify(dogDao, times(1)).findById(dogId);
+
+        dogService.updateDog(dogId, DogETag.of(0L), new DogRequest(ownerId, "Rex", "Labrador", "Male",
+                new BigDecimal("30.5"), "2 years", true, "Friendly", true));
+        HttpResponse<DogResponse> refreshed = dogService.getDog(dogId);
+
+        assertNotNull(refreshed.body());
+        assertEquals("Rex", refreshed.body().name());
+        verify(dogDao, times(3)).findById(dogId);
+    }
+
+    @Test
+    void testUpdateDog_SkipsOwnerLookupWhenOwnerUnchanged() {
+        UUID dogId = UUID.randomUUID();
+        UUID ownerId = UUID.randomUUID();
+        DogEntity dogEntity = DogEntity.builder()
+                .id(dogId)
+                .version(0L)
+                .owner(UserEntity.builder().id(ownerId).build())
+                .name("Buddy")
+                .build();
+        when(dogDao.findById(any())).thenReturn(Optional.of(dogEntity));
+
+        HttpResponse<DogResponse> response = dogService.updateDog(dogId, DogETag.of(0L), new DogRequest(ownerId, "Rex", "Labrador",
+                "Male", new BigDecimal("30.5"), "2 years", true, "Friendly", true));
+
+        assertEquals(HttpStatus.OK, response.getStatus());
+        assertEquals("Rex", dogEntity.getName());
+        verify(userDao, never()).findById(any());
+        verify(dogDao, times(1)).flush();
+    }
+
+    @Test
+    void testPatchDog_UpdatesOnlyPresentFields() {
+        UUID dogId = UUID.randomUUID();
+        UUID ownerId = UUID.randomUUID();
+        DogEntity dogEntity = DogEntity.builder()
+                .id(dogId)
+                .version(0L)
+                .owner(UserEntity.builder().id(ownerId).build())
+                .name("Buddy")
+                .breed("Labrador")
+                .weight(new BigDecimal("30.5"))
+                .build();
+        when(dogDao.findById(any())).thenReturn(Optional.of(dogEntity));
+
+        HttpResponse<DogResponse> response = dogService.patchDog(dogId, DogETag.of(0L), new DogRequest(null, null, null,
+                null, new BigDecimal("31.0"), null, null, null, null));
+
+        assertEquals(HttpStatus.OK, response.getStatus());
+        assertNotNull(response.body());
+        assertEquals("Buddy", response.body().name());
+        assertEquals("Labrador", dogEntity.getBreed());
+        assertEquals(new BigDecimal("31.0"), dogEntity.getWeight());
+        verify(userDao, never()).findById(any());
+    }
+
+    @Test
+    void testPatchDog_ChangesOwner() {
+        UUID dogId = UUID.randomUUID();
+        UUID newOwnerId = UUID.randomUUID();
+        DogEntity dogEntity = DogEntity.builder()
+                .id(dogId)
+                .version(0L)
+                .owner(UserEntity.builder().id(UUID.randomUUID()).build())
+                .name("Buddy")
+                .build();
+        when(dogDao.findById(any())).thenReturn(Optional.of(dogEntity));
+        when(userDao.findById(newOwnerId)).thenReturn(Optional.of(UserEntity.builder().id(newOwnerId).build()));
+
+        HttpResponse<DogResponse> response = dogService.patchDog(dogId, DogETag.of(0L), new DogRequest(newOwnerId, null, null,
+                null, null, null, null, null, null));
+
+        assertEquals(HttpStatus.OK, response.getStatus());
+        assertEquals(newOwnerId, dogEntity.getOwner().getId());
+        assertEquals("Buddy", dogEntity.getName());
+    }
+
+    @Test
+    void testPatchDog_OwnerNotFound() {
+        UUID dogId = UUID.randomUUID();
+        DogEntity dogEntity = DogEntity.builder()
+                .id(dogId)
+                .version(0L)
+                .owner(UserEntity.builder().id(UUID.randomUUID()).build())
+                .build();
+        when(dogDao.findById(any())).thenReturn(Optional.of(dogEntity));
+        when(userDao.findById(any())).thenReturn(Optional.empty());
+
+        HttpStatusException exception = assertThrows(HttpStatusException.class, () -> {
+            dogService.patchDog(dogId, DogETag.of(0L), new DogRequest(UUID.randomUUID(), null, null, null, null, null, null, null, null));
+        });
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        assertEquals("Owner does not exist", exception.getMessage());
+    }
+
+    @Test
+    void testUpdateDog_RequiresIfMatch() {
+        UUID dogId = UUID.randomUUID();
+        DogEntity dogEntity = DogEntity.builder().id(dogId).name("Buddy").version(3L).build();
+        when(dogDao.findById(any())).thenReturn(Optional.of(dogEntity));
+
+        HttpStatusException exception = assertThrows(HttpStatusException.class, () -> {
+            dogService.updateDog(dogId, null, new DogRequest(UUID.randomUUID(), "Rex", "Labrador", "Male",
+                    null, null, null, null, null));
+        });
+
+        assertEquals(HttpStatus.PRECONDITION_REQUIRED, exception.getStatus());
+        assertEquals("Buddy", dogEntity.getName());
+    }
+
+    @Test
+    void testPatchDog_StaleIfMatchIsRejected() {
+        UUID dogId = UUID.randomUUID();
+        DogEntity dogEntity = DogEntity.builder().id(dogId).name("Buddy").version(3L).build();
+        when(dogDao.findById(any())).thenReturn(Optional.of(dogEntity));
+
+        HttpStatusException exception = assertThrows(HttpStatusException.class, () -> {
+            dogService.patchDog(dogId, DogETag.of(2L), new DogRequest(null, "Rex", null, null, null, null, null,
+                    null, null));
+        });
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, exception.getStatus());
+        assertEquals("Buddy", dogEntity.getName());
+        verify(dogDao, never()).flush();
+    }
+
+    @Test
+    void testGetDog_ReturnsVersionAsETag() {
+        UUID dogId = UUID.randomUUID();
+        DogEntity dogEntity = DogEntity.builder().id(dogId).name("Buddy").version(3L).build();
+        when(dogDao.findById(any())).thenReturn(Optional.of(dogEntity));
+
+        HttpResponse<DogResponse> response = dogService.getDog(dogId);
+
+        assertEquals("\"3\"", response.getHeaders().get(HttpHeaders.ETAG));
+        assertNotNull(response.body());
+        assertEquals(3L, response.body().version());
+    }
+}
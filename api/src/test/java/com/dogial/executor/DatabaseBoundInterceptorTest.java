@@ -0,0 +1,46 @@
+package com.dogial.executor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.aop.MethodInvocationContext;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DatabaseBoundInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DatabaseBoundInterceptor interceptor =
+            new DatabaseBoundInterceptor(1, Duration.ofMillis(10), meterRegistry);
+
+    @Test
+    void testIntercept_ReleasesPermitWhenBlockingCallReturns() {
+        assertEquals("done", interceptor.intercept(invocationReturning("done")));
+
+        assertEquals(1.0, meterRegistry.get("dogial.db.guard.available").gauge().value());
+    }
+
+    @Test
+    void testIntercept_HoldsPermitUntilStreamTerminates() {
+        Sinks.Many<String> rows = Sinks.many().unicast().onBackpressureBuffer();
+        Publisher<?> stream = (Publisher<?>) interceptor.intercept(invocationReturning(rows.asFlux()));
+
+        Flux.from(stream).subscribe();
+        assertEquals(0.0, meterRegistry.get("dogial.db.guard.available").gauge().value());
+
+        rows.tryEmitComplete();
+        assertEquals(1.0, meterRegistry.get("dogial.db.guard.available").gauge().value());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MethodInvocationContext<Object, Object> invocationReturning(Object result) {
+        MethodInvocationContext<Object, Object> context = mock(MethodInvocationContext.class);
+        when(context.proceed()).thenReturn(result);
+        return context;
+    }
+}
@@ -0,0 +1,68 @@
+package com.dogial.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.exceptions.HttpStatusException;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MeasuredInterceptorTest {
+
+    private static final String NAME = "dogial.test";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MeasuredInterceptor interceptor = new MeasuredInterceptor(meterRegistry);
+
+    @Test
+    void testIntercept_TimesBlockingCall() {
+        assertEquals("done", interceptor.intercept(invocationReturning("done")));
+
+        assertEquals(1, timer("none").count());
+    }
+
+    @Test
+    void testIntercept_TimesStreamUntilItTerminates() {
+        Sinks.Many<String> rows = Sinks.many().unicast().onBackpressureBuffer();
+        Publisher<?> stream = (Publisher<?>) interceptor.intercept(invocationReturning(rows.asFlux()));
+
+        Flux.from(stream).subscribe();
+        assertNull(meterRegistry.find(NAME).timer());
+
+        rows.tryEmitComplete();
+        assertEquals(1, timer("none").count());
+    }
+
+    @Test
+    void testIntercept_CountsStreamError() {
+        Publisher<?> stream = (Publisher<?>) interceptor.intercept(
+                invocationReturning(Flux.error(new HttpStatusException(HttpStatus.NOT_FOUND, "missing"))));
+
+        Flux.from(stream).onErrorComplete().subscribe();
+
+        assertEquals(1, timer("HttpStatusException").count());
+        assertEquals(1.0, meterRegistry.get(NAME + ".errors").tag("status", "404").counter().count());
+    }
+
+    private Timer timer(String exception) {
+        return meterRegistry.get(NAME).tag("exception", exception).timer();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MethodInvocationContext<Object, Object> invocationReturning(Object result) {
+        MethodInvocationContext<Object, Object> context = mock(MethodInvocationContext.class);
+        when(context.stringValue(Measured.class)).thenReturn(Optional.of(NAME));
+        doReturn(MeasuredInterceptorTest.class).when(context).getDeclaringType();
+        when(context.getMethodName()).thenReturn("stream");
+        when(context.proceed()).thenReturn(result);
+        return context;
+    }
+}
@@ -1,11 +1,15 @@
 package com.dogial.user.integration;
 
+import com.dogial.authentication.service.PasswordHashingEngine;
 import com.dogial.boot.IntegrationTestBase;
+import com.dogial.dog.persistence.entities.DogEntity;
 import com.dogial.user.controller.model.UserRequest;
 import com.dogial.user.controller.model.UserResponse;
 import com.dogial.user.persistence.dao.UserDao;
 import com.dogial.user.persistence.entities.UserEntity;
+import com.dogial.user.persistence.projections.UserWithDogs;
 import io.micronaut.core.type.Argument;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.HttpStatus;
@@ -18,14 +22,20 @@ import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
+import reactor.core.publisher.Flux;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static io.micronaut.http.HttpRequest.POST;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @MicronautTest
@@ -41,21 +51,28 @@ class UserControllerIntegrationTest extends IntegrationTestBase {
     @Inject
     private UserDao userDao;
 
+    @Inject
+    private PasswordHashingEngine hashingEngine;
+
     @MockBean(UserDao.class)
     UserDao userDao() {
         return mock(UserDao.class);
     }
 
+    // One hashing thread and one queue slot, so two parked tasks saturate the pool
+    @Override
+    public Map<String, String> getProperties() {
+        Map<String, String> properties = super.getProperties();
+        properties.put("dogial.password-hashing.threads", "1");
+        properties.put("dogial.password-hashing.queue-capacity", "1");
+        return properties;
+    }
+
     @Test
     void testCreateUser_returnsSuccess() {
         UserRequest userRequest = new UserRequest("test@example.com", "passwordHash");
-        UserEntity userEntity = UserEntity.builder()
-                .id(UUID.randomUUID())
-                .email(userRequest.email())
-                .passwordHash(userRequest.passwordHash())
-                .build();
         when(userDao.existsByEmail(any())).thenReturn(false);
-        when(userDao.save(any())).thenReturn(userEntity);
+        when(userDao.insertIfAbsent(any(), any())).thenReturn(Optional.of(UUID.randomUUID()));
 
         MutableHttpRequest<UserRequest> request = POST(SERVICE_PATH, userRequest);
         HttpResponse<UserResponse> response = client.toBlocking().exchange(request, Argument.of(UserResponse.class));
@@ -66,6 +83,39 @@ class UserControllerIntegrationTest extends IntegrationTestBase {
         assertEquals(userRequest.email(), response.body().email());
     }
 
+    @Test
+    void testCreateUser_rejectsOversizedBody() {
+        UserRequest userRequest = new UserRequest("test@example.com", "x".repeat(11 * 1024 * 1024));
+
+        MutableHttpRequest<UserRequest> request = POST(SERVICE_PATH, userRequest);
+        HttpClientResponseException exception = assertThrows(HttpClientResponseException.class, () -> {
+            client.toBlocking().exchange(request, Argument.of(UserResponse.class));
+        });
+
+        assertEquals(HttpStatus.REQUEST_ENTITY_TOO_LARGE, exception.getStatus());
+        verify(userDao, never()).insertIfAbsent(any(), any());
+    }
+
+    @Test
+    void testCreateUser_returnsServiceUnavailableWhenHashingPoolIsFull() {
+        when(userDao.existsByEmail(any())).thenReturn(false);
+        CountDownLatch release = new CountDownLatch(1);
+        hashingEngine.submit(() -> awaitQuietly(release));
+        hashingEngine.submit(() -> awaitQuietly(release));
+        try {
+            MutableHttpRequest<UserRequest> request = POST(SERVICE_PATH, new UserRequest("busy@example.com", "passwordHash"));
+            HttpClientResponseException exception = assertThrows(HttpClientResponseException.class, () -> {
+                client.toBlocking().exchange(request, Argument.of(UserResponse.class));
+            });
+
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatus());
+            assertNotNull(exception.getResponse().getHeaders().get(HttpHeaders.RETRY_AFTER));
+            verify(userDao, never()).insertIfAbsent(any(), any());
+        } finally {
+            release.countDown();
+        }
+    }
+
     @Test
     void testCreateUser_returnsBadRequest() {
         UserRequest userRequest = new UserRequest("test@example.com", "passwordHash");
@@ -90,7 +140,7 @@ class UserControllerIntegrationTest extends IntegrationTestBase {
                 .passwordHash(userRequest.passwordHash())
                 .build();
         when(userDao.findById(any())).thenReturn(Optional.of(userEntity));
-        when(userDao.update(any())).thenReturn(userEntity);
+        when(userDao.updateCredentials(any(), any(), any())).thenReturn(1);
 
         // Add authentication
         MutableHttpRequest<UserRequest> request = HttpRequest.PUT(SERVICE_PATH + "/" + userId, userRequest)
@@ -138,9 +188,8 @@ class UserControllerIntegrationTest extends IntegrationTestBase {
     @Test
     void testDeleteUser_returnsSuccess() {
         UUID userId = UUID.randomUUID();
-        UserEntity userEntity = UserEntity.builder().id(userId).build();
-        when(userDao.findById(any())).thenReturn(Optional.of(userEntity));
-        doNothing().when(userDao).delete(any());
+        when(userDao.findById(any())).thenReturn(Optional.of(UserEntity.builder().id(userId).build()));
+        when(userDao.markDeleted(any())).thenReturn(1);
 
         MutableHttpRequest<Object> request = HttpRequest.DELETE(SERVICE_PATH + "/" + userId)
                 .header("Authorization", bearerAuth(TEST_EMAIL, List.of("ROLE_USER")));
@@ -148,13 +197,13 @@ class UserControllerIntegrationTest extends IntegrationTestBase {
         HttpResponse<Void> response = client.toBlocking().exchange(request, Argument.VOID);
 
         assertNotNull(response);
-        assertEquals(HttpStatus.NO_CONTENT, response.getStatus());
+        assertEquals(HttpStatus.ACCEPTED, response.getStatus());
     }
 
     @Test
     void testDeleteUser_returnsNotFound() {
         UUID userId = UUID.randomUUID();
-        when(userDao.findById(any())).thenReturn(Optional.empty());
+        when(userDao.markDeleted(any())).thenReturn(0);
 
         MutableHttpRequest<Object> request = HttpRequest.DELETE(SERVICE_PATH + "/" + userId)
                 .header("Authorization", bearerAuth(TEST_EMAIL, List.of("ROLE_USER")));
@@ -201,4 +250,88 @@ class UserControllerIntegrationTest extends IntegrationTestBase {
 
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetUserWithDogs_returnsDogs() {
+        UUID userId = UUID.randomUUID();
+        UserEntity userEntity = UserEntity.builder()
+                .id(userId)
+                .email("owner@example.com")
+                .passwordHash("passwordHash")
+                .build();
+        DogEntity dogEntity = DogEntity.builder()
+                .id(UUID.randomUUID())
+                .owner(userEntity)
+                .name("Buddy")
+                .createdAt(Instant.now())
+                .build();
+        when(userDao.findWithDogs(any(), anyInt())).thenReturn(Optional.of(new UserWithDogs(userEntity, List.of(dogEntity))));
+
+        MutableHttpRequest<Object> request = HttpRequest.GET(SERVICE_PATH + "/" + userId + "?include=dogs")
+                .header("Authorization", bearerAuth(TEST_EMAIL, List.of("ROLE_USER")));
+
+        HttpResponse<UserResponse> response = client.toBlocking().exchange(request, Argument.of(UserResponse.class));
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatus());
+        assertNotNull(response.body());
+        assertEquals(1, response.body().dogs().size());
+        assertEquals(userId, response.body().dogs().get(0).ownerId());
+        assertNull(response.body().dogsNextCursor());
+    }
+
+    @Test
+    void testGetUserWithDogs_returnsBadRequestForUnknownInclude() {
+        MutableHttpRequest<Object> request = HttpRequest.GET(SERVICE_PATH + "/" + UUID.randomUUID() + "?include=cats")
+                .header("Authorization", bearerAuth(TEST_EMAIL, List.of("ROLE_USER")));
+
+        HttpClientResponseException exception = assertThrows(HttpClientResponseException.class, () -> {
+            client.toBlocking().exchange(request, Argument.of(UserResponse.class));
+        });
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
+    @Test
+    void testExportUsers_streamsNdjsonForAdmin() {
+        UserEntity first = UserEntity.builder().id(UUID.randomUUID()).email("first@example.com")
+                .passwordHash("passwordHash").createdAt(Instant.parse("2024-01-01T10:00:00Z")).build();
+        UserEntity second = UserEntity.builder().id(UUID.randomUUID()).email("second@example.com")
+                .passwordHash("passwordHash").createdAt(Instant.parse("2024-01-02T10:00:00Z")).build();
+        when(userDao.streamByCreatedAtBetween(any(), any())).thenReturn(Flux.just(first, second));
+
+        MutableHttpRequest<Object> request = HttpRequest.GET(SERVICE_PATH
+                        + "/export?from=2024-01-01T00:00:00Z&to=2024-02-01T00:00:00Z")
+                .header("Authorization", "Bearer " + generateJwtToken(TEST_EMAIL, List.of("ROLE_ADMIN")));
+
+        HttpResponse<String> response = client.toBlocking().exchange(request, String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatus());
+        String[] lines = response.body().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"email\":\"first@example.com\""));
+        assertFalse(lines[0].contains("passwordHash"));
+    }
+
+    @Test
+    void testExportUsers_forbiddenWithoutAdminRole() {
+        MutableHttpRequest<Object> request = HttpRequest.GET(SERVICE_PATH
+                        + "/export?from=2024-01-01T00:00:00Z&to=2024-02-01T00:00:00Z")
+                .header("Authorization", bearerAuth(TEST_EMAIL, List.of("ROLE_USER")));
+
+        HttpClientResponseException exception = assertThrows(HttpClientResponseException.class, () -> {
+            client.toBlocking().exchange(request, String.class);
+        });
+
+        assertEquals(HttpStatus.FORBIDDEN, exception.getStatus());
+    }
+
+    private static boolean awaitQuietly(CountDownLatch latch) {
+        try {
+            return latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
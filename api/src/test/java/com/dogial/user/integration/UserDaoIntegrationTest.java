@@ -0,0 +1,232 @@
+package com.dogial.user.integration;
+
+import com.dogial.boot.IntegrationTestBase;
+import com.dogial.dog.persistence.dao.DogDao;
+import com.dogial.dog.persistence.entities.DogEntity;
+import com.dogial.user.persistence.dao.SignupBucket;
+import com.dogial.user.persistence.dao.UserDao;
+import com.dogial.user.persistence.entities.UserEntity;
+import com.dogial.user.persistence.projections.UserWithDogs;
+import com.dogial.user.service.UserPurger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micronaut.cache.SyncCache;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest(transactional = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserDaoIntegrationTest extends IntegrationTestBase {
+
+    @Inject
+    private UserDao userDao;
+
+    @Inject
+    private DogDao dogDao;
+
+    @Inject
+    private EntityManagerFactory entityManagerFactory;
+
+    @Inject
+    @Named("dogs")
+    private SyncCache<?> dogCache;
+
+    @Override
+    public Map<String, String> getProperties() {
+        Map<String, String> properties = super.getProperties();
+        properties.put("jpa.default.properties.hibernate.generate_statistics", "true");
+        return properties;
+    }
+
+    @Test
+    void testFindWithDogs_executesSingleStatement() {
+        UserEntity owner = createOwner();
+        for (int i = 0; i < 3; i++) {
+            createDog(owner, "Dog " + i);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Optional<UserWithDogs> result = userDao.findWithDogs(owner.getId(), 10);
+
+        assertTrue(result.isPresent());
+        assertEquals(owner.getId(), result.get().user().getId());
+        assertEquals(3, result.get().dogs().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindWithDogs_appliesDogLimitInSql() {
+        UserEntity owner = createOwner();
+        for (int i = 0; i < 5; i++) {
+            createDog(owner, "Dog " + i);
+        }
+
+        Optional<UserWithDogs> result = userDao.findWithDogs(owner.getId(), 2);
+
+        assertTrue(result.isPresent());
+        assertEquals(2, result.get().dogs().size());
+    }
+
+    @Test
+    void testFindWithDogs_ownerWithoutDogs() {
+        UserEntity owner = createOwner();
+
+        Optional<UserWithDogs> result = userDao.findWithDogs(owner.getId(), 10);
+
+        assertTrue(result.isPresent());
+        assertTrue(result.get().dogs().isEmpty());
+    }
+
+    @Test
+    void testFindById_servedFromSecondLevelCache() {
+        UserEntity owner = createOwner();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Optional<UserEntity> result = userDao.findById(owner.getId());
+
+        assertTrue(result.isPresent());
+        assertEquals(owner.getEmail(), result.get().getEmail());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testInsertIfAbsent_secondInsertForSameEmailIsIgnored() {
+        String email = "Signup-" + UUID.randomUUID() + "@Example.com";
+
+        Optional<UUID> first = userDao.insertIfAbsent(email, "passwordHash");
+        Optional<UUID> second = userDao.insertIfAbsent(email.toLowerCase(), "otherHash");
+
+        assertTrue(first.isPresent());
+        assertTrue(second.isEmpty());
+        Optional<UserEntity> stored = userDao.findById(first.get());
+        assertTrue(stored.isPresent());
+        assertEquals(email.toLowerCase(), stored.get().getEmail());
+        assertEquals("passwordHash", stored.get().getPasswordHash());
+    }
+
+    @Test
+    void testInsertIfAbsent_conflictsWithStoredCaseVariant() {
+        String email = "Legacy-" + UUID.randomUUID() + "@Example.com";
+        userDao.save(UserEntity.builder()
+                .email(email)
+                .passwordHash("passwordHash")
+                .build());
+
+        Optional<UUID> inserted = userDao.insertIfAbsent(email.toLowerCase(), "otherHash");
+
+        assertTrue(inserted.isEmpty());
+    }
+
+    @Test
+    void testInsertIfAbsent_reusesEmailOfSoftDeletedUser() {
+        String email = "reused-" + UUID.randomUUID() + "@example.com";
+        UUID deletedId = userDao.insertIfAbsent(email, "passwordHash").orElseThrow();
+        assertEquals(1, userDao.markDeleted(deletedId));
+
+        Optional<UUID> inserted = userDao.insertIfAbsent(email, "otherHash");
+
+        assertTrue(inserted.isPresent());
+        assertNotEquals(deletedId, inserted.get());
+        assertEquals(inserted.get(), userDao.findCredentialsByEmail(email).orElseThrow().id());
+    }
+
+    @Test
+    void testUpdatePasswordHash_evictsOnlyThatUser() {
+        UserEntity owner = createOwner();
+        UserEntity other = createOwner();
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+
+        int updated = userDao.updatePasswordHash(owner.getId(), "rehashed");
+
+        assertEquals(1, updated);
+        assertFalse(cache.containsEntity(UserEntity.class, owner.getId()));
+        assertTrue(cache.containsEntity(UserEntity.class, other.getId()));
+        assertEquals("rehashed", userDao.findById(owner.getId()).orElseThrow().getPasswordHash());
+    }
+
+    @Test
+    void testCountSignups_groupsByDay() {
+        Instant today = SignupBucket.DAY.truncate(Instant.now());
+        createOwner();
+        createOwner();
+
+        Map<Instant, Long> counts = userDao.countSignups(SignupBucket.DAY, today, SignupBucket.DAY.next(today));
+
+        assertEquals(1, counts.size());
+        assertTrue(counts.get(today) >= 2);
+    }
+
+    @Test
+    void testStreamByCreatedAtBetween_returnsOnlyUsersInRange() {
+        Instant from = Instant.now().minusSeconds(1);
+        UserEntity first = createOwner();
+        UserEntity second = createOwner();
+        Instant to = Instant.now().plusSeconds(1);
+
+        List<UUID> ids = userDao.streamByCreatedAtBetween(from, to)
+                .map(UserEntity::getId)
+                .collectList()
+                .block();
+
+        assertNotNull(ids);
+        assertTrue(ids.containsAll(List.of(first.getId(), second.getId())));
+        assertTrue(userDao.streamByCreatedAtBetween(to, to.plusSeconds(60)).collectList().block().isEmpty());
+    }
+
+    @Test
+    void testMarkDeleted_hidesUserUntilPurgerRemovesDogsAndRow() {
+        UserEntity owner = createOwner();
+        for (int i = 0; i < 5; i++) {
+            createDog(owner, "Dog " + i);
+        }
+        UUID purgedDogId = dogDao.findByOwner(owner.getId(), null, null, 1).get(0).getId();
+        UUID otherDogId = UUID.randomUUID();
+        dogCache.put(purgedDogId, "purged");
+        dogCache.put(otherDogId, "other");
+
+        assertEquals(1, userDao.markDeleted(owner.getId()));
+        assertEquals(0, userDao.markDeleted(owner.getId()));
+        assertTrue(userDao.findById(owner.getId()).isEmpty());
+        assertTrue(userDao.findPendingPurge(100).contains(owner.getId()));
+
+        new UserPurger(userDao, dogDao, dogCache, 2, 100, new SimpleMeterRegistry()).purge();
+
+        assertTrue(dogDao.findByOwner(owner.getId(), null, null, 10).isEmpty());
+        assertFalse(userDao.findPendingPurge(100).contains(owner.getId()));
+        assertTrue(dogCache.get(purgedDogId, String.class).isEmpty());
+        assertEquals(Optional.of("other"), dogCache.get(otherDogId, String.class));
+    }
+
+    private UserEntity createOwner() {
+        return userDao.save(UserEntity.builder()
+                .email("owner-" + UUID.randomUUID() + "@example.com")
+                .passwordHash("passwordHash")
+                .build());
+    }
+
+    private void createDog(UserEntity owner, String name) {
+        dogDao.save(DogEntity.builder()
+                .owner(owner)
+                .name(name)
+                .breed("Labrador")
+                .gender("Male")
+                .build());
+    }
+}
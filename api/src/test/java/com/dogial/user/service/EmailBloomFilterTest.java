@@ -0,0 +1,35 @@
+package com.dogial.user.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailBloomFilterTest {
+
+    @Test
+    void testMightContain_trueUntilReady() {
+        EmailBloomFilter filter = new EmailBloomFilter(null, 1000, 0.01, false);
+
+        assertTrue(filter.mightContain("nobody@example.com"));
+    }
+
+    @Test
+    void testMightContain_noFalseNegativesAndFewFalsePositives() {
+        EmailBloomFilter filter = new EmailBloomFilter(null, 10_000, 0.01, false);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user-" + i + "@example.com");
+        }
+        filter.markReady();
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user-" + i + "@example.com"));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("other-" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives " + falsePositives);
+    }
+}
@@ -0,0 +1,120 @@
+package com.dogial.user.service;
+
+import com.dogial.user.controller.model.SignupStatsResponse;
+import com.dogial.user.persistence.dao.SignupBucket;
+import com.dogial.user.persistence.dao.UserDao;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.exceptions.HttpStatusException;
+import io.micronaut.test.annotation.MockBean;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@MicronautTest(rebuildContext = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SignupStatsServiceTest {
+
+    @Inject
+    private UserDao userDao;
+
+    @MockBean(UserDao.class)
+    UserDao userDao() {
+        return mock(UserDao.class);
+    }
+
+    @Inject
+    private SignupStatsService signupStatsService;
+
+    @Test
+    void testGetSignupStats_fillsEmptyBucketsAndTotals() {
+        Instant from = Instant.parse("2024-01-01T00:00:00Z");
+        Instant to = Instant.parse("2024-01-04T00:00:00Z");
+        when(userDao.countSignups(eq(SignupBucket.DAY), any(), any()))
+                .thenReturn(Map.of(Instant.parse("2024-01-02T00:00:00Z"), 5L));
+
+        HttpResponse<SignupStatsResponse> response = signupStatsService.getSignupStats(from, to, "day");
+
+        assertEquals(HttpStatus.OK, response.getStatus());
+        SignupStatsResponse stats = response.body();
+        assertNotNull(stats);
+        assertEquals(3, stats.buckets().size());
+        assertEquals(0L, stats.buckets().get(0).count());
+        assertEquals(5L, stats.buckets().get(1).count());
+        assertEquals(5L, stats.total());
+    }
+
+    @Test
+    void testGetSignupStats_recomputesOnlyOpenBucket() {
+        Instant now = Instant.now();
+        Instant today = SignupBucket.DAY.truncate(now);
+        Instant from = today.minus(3, ChronoUnit.DAYS);
+        when(userDao.countSignups(eq(SignupBucket.DAY), any(), any())).thenReturn(Map.of(today, 2L));
+
+        signupStatsService.getSignupStats(from, now, "day");
+        signupStatsService.getSignupStats(from, now, "day");
+
+        verify(userDao).countSignups(SignupBucket.DAY, from, SignupBucket.DAY.next(today));
+        verify(userDao).countSignups(SignupBucket.DAY, today, SignupBucket.DAY.next(today));
+    }
+
+    @Test
+    void testEvict_recountsBucketsOfDeletedUser() {
+        Instant today = SignupBucket.DAY.truncate(Instant.now());
+        Instant from = today.minus(3, ChronoUnit.DAYS);
+        Instant createdAt = from.plus(1, ChronoUnit.DAYS).plus(5, ChronoUnit.HOURS);
+        when(userDao.countSignups(eq(SignupBucket.DAY), any(), any())).thenReturn(Map.of());
+
+        signupStatsService.getSignupStats(from, today, "day");
+        signupStatsService.evict(createdAt);
+        signupStatsService.getSignupStats(from, today, "day");
+
+        Instant deletedBucket = SignupBucket.DAY.truncate(createdAt);
+        verify(userDao).countSignups(SignupBucket.DAY, from, today);
+        verify(userDao).countSignups(SignupBucket.DAY, deletedBucket, SignupBucket.DAY.next(deletedBucket));
+    }
+
+    @Test
+    void testGetSignupStats_widensRangeToWholeWeeks() {
+        // 2024-01-03 is a Wednesday; ISO weeks start on Monday 2024-01-01
+        Instant from = Instant.parse("2024-01-03T12:00:00Z");
+        Instant to = Instant.parse("2024-01-10T00:00:00Z");
+        when(userDao.countSignups(eq(SignupBucket.WEEK), any(), any())).thenReturn(Map.of());
+
+        SignupStatsResponse stats = signupStatsService.getSignupStats(from, to, "week").body();
+
+        assertNotNull(stats);
+        assertEquals(Instant.parse("2024-01-01T00:00:00Z"), stats.from());
+        assertEquals(Instant.parse("2024-01-15T00:00:00Z"), stats.to());
+        assertEquals(2, stats.buckets().size());
+    }
+
+    @Test
+    void testGetSignupStats_unsupportedBucket() {
+        HttpStatusException exception = assertThrows(HttpStatusException.class, () ->
+                signupStatsService.getSignupStats(Instant.parse("2024-01-01T00:00:00Z"),
+                        Instant.parse("2024-02-01T00:00:00Z"), "hour"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+    }
+
+    @Test
+    void testGetSignupStats_tooManyBuckets() {
+        HttpStatusException exception = assertThrows(HttpStatusException.class, () ->
+                signupStatsService.getSignupStats(Instant.parse("2000-01-01T00:00:00Z"),
+                        Instant.parse("2024-01-01T00:00:00Z"), "day"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        verify(userDao, never()).countSignups(any(), any(), any());
+    }
+}
@@ -39,22 +39,46 @@ class UserServiceTest {
     @Test
     void testCreateUser_Success() {
         UserRequest userRequest = new UserRequest("test@example.com", "passwordHash");
-        UserEntity userEntity = UserEntity.builder()
-                .id(UUID.randomUUID())
-                .email(userRequest.email())
-                .passwordHash(userRequest.passwordHash())
-                .build();
+        UUID userId = UUID.randomUUID();
         when(userDao.existsByEmail(any())).thenReturn(false);
-        when(userDao.save(any())).thenReturn(userEntity);
+        when(userDao.insertIfAbsent(any(), any())).thenReturn(Optional.of(userId));
 
         HttpResponse<UserResponse> response = userService.createUser(userRequest);
 
         assertNotNull(response);
         assertEquals(HttpStatus.CREATED, response.getStatus());
         assertNotNull(response.body());
+        assertEquals(userId, response.body().id());
         assertEquals(userRequest.email(), response.body().email());
     }
 
+    @Test
+    void testCreateUser_LostInsertRace() {
+        UserRequest userRequest = new UserRequest("test@example.com", "passwordHash");
+        when(userDao.existsByEmail(any())).thenReturn(false);
+        when(userDao.insertIfAbsent(any(), any())).thenReturn(Optional.empty());
+
+        HttpStatusException exception = assertThrows(HttpStatusException.class, () -> {
+            userService.createUser(userRequest);
+        });
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("User already exists", exception.getMessage());
+    }
+
+    @Test
+    void testCreateUser_EmptyPassword() {
+        UserRequest userRequest = new UserRequest("test@example.com", "");
+
+        HttpStatusException exception = assertThrows(HttpStatusException.class, () -> {
+            userService.createUser(userRequest);
+        });
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("Password is required", exception.getMessage());
+        verify(userDao, never()).insertIfAbsent(any(), any());
+    }
+
     @Test
     void testUpdateUser_Success() {
         UUID userId = UUID.randomUUID();
@@ -65,7 +89,7 @@ class UserServiceTest {
                 .passwordHash(userRequest.passwordHash())
                 .build();
         when(userDao.findById(any())).thenReturn(Optional.of(userEntity));
-        when(userDao.update(any())).thenReturn(userEntity);
+        when(userDao.updateCredentials(any(), any(), any())).thenReturn(1);
 
         HttpResponse<UserResponse> response = userService.updateUser(userId, userRequest);
 
@@ -76,16 +100,56 @@ class UserServiceTest {
     }
 
     @Test
-    void testDeleteUser_Success() {
+    void testUpdateUser_NormalizesEmail() {
         UUID userId = UUID.randomUUID();
-        UserEntity userEntity = UserEntity.builder().id(userId).build();
+        UserEntity userEntity = UserEntity.builder()
+                .id(userId)
+                .email("old@example.com")
+                .passwordHash("passwordHash")
+                .build();
         when(userDao.findById(any())).thenReturn(Optional.of(userEntity));
-        doNothing().when(userDao).delete(any());
+        when(userDao.existsByEmail(any())).thenReturn(false);
+        when(userDao.updateCredentials(any(), any(), any())).thenReturn(1);
+
+        HttpResponse<UserResponse> response = userService.updateUser(userId, new UserRequest("New@Example.com", "passwordHash"));
+
+        assertNotNull(response.body());
+        assertEquals("new@example.com", response.body().email());
+        assertEquals("new@example.com", userEntity.getEmail());
+        verify(userDao).existsByEmail("new@example.com");
+    }
+
+    @Test
+    void testUpdateUser_EmailTakenByAnotherUser() {
+        UUID userId = UUID.randomUUID();
+        UserEntity userEntity = UserEntity.builder()
+                .id(userId)
+                .email("old@example.com")
+                .passwordHash("passwordHash")
+                .build();
+        when(userDao.findById(any())).thenReturn(Optional.of(userEntity));
+        when(userDao.existsByEmail("taken@example.com")).thenReturn(true);
+
+        HttpStatusException exception = assertThrows(HttpStatusException.class, () -> {
+            userService.updateUser(userId, new UserRequest("Taken@Example.com", "passwordHash"));
+        });
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertEquals("User already exists", exception.getMessage());
+        verify(userDao, never()).updateCredentials(any(), any(), any());
+    }
+
+    @Test
+    void testDeleteUser_Success() {
+        UUID userId = UUID.randomUUID();
+        when(userDao.findById(userId)).thenReturn(Optional.of(UserEntity.builder().id(userId).build()));
+        when(userDao.markDeleted(any())).thenReturn(1);
 
         HttpResponse<Void> response = userService.deleteUser(userId);
 
         assertNotNull(response);
-        assertEquals(HttpStatus.NO_CONTENT, response.getStatus());
+        assertEquals(HttpStatus.ACCEPTED, response.getStatus());
+        verify(userDao).markDeleted(userId);
     }
 
     @Test
@@ -117,13 +181,14 @@ class UserServiceTest {
 
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
         assertEquals("User already exists", exception.getMessage());
+        verify(userDao, never()).insertIfAbsent(any(), any());
     }
 
     @Test
     void testCreateUser_FailedWithException() {
         UserRequest userRequest = new UserRequest("test@example.com", "passwordHash");
         when(userDao.existsByEmail(any())).thenReturn(false);
-        when(userDao.save(any())).thenThrow(new RuntimeException("Database error"));
+        when(userDao.insertIfAbsent(any(), any())).thenThrow(new RuntimeException("Database error"));
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
             userService.createUser(userRequest);
@@ -136,8 +201,8 @@ class UserServiceTest {
     void testUpdateUser_FailedWithException() {
         UUID userId = UUID.randomUUID();
         UserRequest userRequest = new UserRequest("test@example.com", "passwordHash");
-        when(userDao.findById(any())).thenReturn(Optional.of(new UserEntity()));
-        when(userDao.update(any())).thenThrow(new RuntimeException("Database error"));
+        when(userDao.findById(any())).thenReturn(Optional.of(UserEntity.builder().id(userId).email("test@example.com").build()));
+        when(userDao.updateCredentials(any(), any(), any())).thenThrow(new RuntimeException("Database error"));
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
             userService.updateUser(userId, userRequest);
@@ -160,11 +225,29 @@ class UserServiceTest {
         assertEquals("User does not exist", exception.getMessage());
     }
 
+    @Test
+    void testUpdateUser_UserDeletedWhileHashing() {
+        UUID userId = UUID.randomUUID();
+        UserEntity userEntity = UserEntity.builder()
+                .id(userId)
+                .email("test@example.com")
+                .passwordHash("passwordHash")
+                .build();
+        when(userDao.findById(any())).thenReturn(Optional.of(userEntity));
+        when(userDao.updateCredentials(any(), any(), any())).thenReturn(0);
+
+        HttpStatusException exception = assertThrows(HttpStatusException.class, () -> {
+            userService.updateUser(userId, new UserRequest("test@example.com", "passwordHash"));
+        });
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+
     @Test
     void testDeleteUser_FailedWithException() {
         UUID userId = UUID.randomUUID();
-        when(userDao.findById(any())).thenReturn(Optional.of(new UserEntity()));
-        doThrow(new RuntimeException("Database error")).when(userDao).delete(any());
+        when(userDao.findById(userId)).thenReturn(Optional.of(UserEntity.builder().id(userId).build()));
+        when(userDao.markDeleted(any())).thenThrow(new RuntimeException("Database error"));
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
             userService.deleteUser(userId);
@@ -176,7 +259,8 @@ class UserServiceTest {
     @Test
     void testDeleteUser_UserNotFound() {
         UUID userId = UUID.randomUUID();
-        when(userDao.findById(any())).thenReturn(Optional.empty());
+        when(userDao.findById(userId)).thenReturn(Optional.of(UserEntity.builder().id(userId).build()));
+        when(userDao.markDeleted(any())).thenReturn(0);
 
         HttpStatusException exception = assertThrows(HttpStatusException.class, () -> {
             userService.deleteUser(userId);
@@ -197,4 +281,28 @@ class UserServiceTest {
 
         assertEquals("Database error", exception.getMessage());
     }
+
+    @Test
+    void testGetUser_ServedFromCacheUntilDeleted() {
+        UUID userId = UUID.randomUUID();
+        UserEntity userEntity = UserEntity.builder()
+                .id(userId)
+                .email("cached@example.com")
+                .passwordHash("passwordHash")
+                .build();
+        when(userDao.findById(userId)).thenReturn(Optional.of(userEntity));
+
+        userService.getUser(userId);
+        HttpResponse<UserResponse> cached = userService.getUser(userId);
+
+        assertNotNull(cached.body());
+        assertEquals(userEntity.getEmail(), cached.body().email());
+        verify(userDao, times(1)).findById(userId);
+
+        when(userDao.markDeleted(userId)).thenReturn(1);
+        userService.deleteUser(userId);
+        when(userDao.findById(userId)).thenReturn(Optional.empty());
+
+        assertThrows(HttpStatusException.class, () -> userService.getUser(userId));
+    }
 }
\ No newline at end of file
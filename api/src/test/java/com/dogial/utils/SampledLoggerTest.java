@@ -0,0 +1,24 @@
+package com.dogial.utils;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SampledLoggerTest {
+
+    @Test
+    void testTryAcquire_limitsPerSecond() {
+        SampledLogger logger = new SampledLogger(LoggerFactory.getLogger(SampledLoggerTest.class), 3);
+
+        int acquired = 0;
+        for (int i = 0; i < 10; i++) {
+            if (logger.tryAcquire()) {
+                acquired++;
+            }
+        }
+
+        // Crossing a second boundary mid-loop opens one more window
+        assertTrue(acquired >= 3 && acquired <= 6, "acquired " + acquired);
+    }
+}
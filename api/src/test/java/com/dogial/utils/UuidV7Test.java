@@ -0,0 +1,64 @@
+package com.dogial.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void testNext_setsVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7.next();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertTrue(UuidV7.timestampMillis(uuid) >= before);
+    }
+
+    @Test
+    void testNext_increasesInUnsignedByteOrder() {
+        UUID previous = UuidV7.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = UuidV7.next();
+            // Postgres compares uuids byte by byte, i.e. as unsigned values
+            assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0);
+            previous = next;
+        }
+    }
+
+    @Test
+    void testNextTimestampAndCounter_staysMonotonicWhenClockStepsBack() {
+        long now = System.currentTimeMillis();
+        long first = UuidV7.nextTimestampAndCounter(now);
+        long second = UuidV7.nextTimestampAndCounter(now - 10_000);
+
+        assertTrue(second > first);
+    }
+
+    @Test
+    void testNext_uniqueAcrossThreads() throws Exception {
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        List<Runnable> tasks = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            tasks.add(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    ids.add(UuidV7.next());
+                }
+            });
+        }
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            tasks.forEach(executor::submit);
+        }
+
+        assertEquals(80_000, ids.size());
+    }
+}